@@ -0,0 +1,42 @@
+package org.example.orderservice.benchmarks;
+
+import org.example.orderservice.dto.request.CreateOrderRequest;
+import org.example.orderservice.dto.request.OrderItemRequest;
+import org.example.orderservice.entities.Order;
+import org.example.orderservice.entities.OrderItem;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic carts shared by the benchmarks, so results are comparable between runs.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static CreateOrderRequest createOrderRequest(int cartSize) {
+        List<OrderItemRequest> items = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            items.add(new OrderItemRequest("Product " + i, i + 1, i % 5 + 1, price(i)));
+        }
+        return new CreateOrderRequest(items);
+    }
+
+    static Order order(long id, int cartSize) {
+        Order order = new Order("customer-" + id);
+        order.setId(id);
+        List<OrderItem> items = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            items.add(new OrderItem(i + 1, "Product " + i, i % 5 + 1, price(i)));
+        }
+        order.addItems(items);
+        return order;
+    }
+
+    private static BigDecimal price(int i) {
+        return BigDecimal.valueOf(1_999 + i * 137L, 2);
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.orderservice.benchmarks;
+
+import org.example.orderservice.entities.Order;
+import org.example.orderservice.entities.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds an order of {@code lines} cart lines, one in ten repeating an earlier product, with the
+ * indexed {@link Order#addItems} and with the linear scan it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderAddItemsBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int lines;
+
+    private int[] productIds;
+    private BigDecimal price;
+
+    @Setup
+    public void setup() {
+        productIds = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            productIds[i] = i % 10 == 9 ? i / 2 : i;
+        }
+        price = new BigDecimal("19.99");
+    }
+
+    @Benchmark
+    public Order indexedMerge() {
+        Order order = new Order("benchmark");
+        order.addItems(newItems());
+        return order;
+    }
+
+    @Benchmark
+    public List<OrderItem> linearMerge() {
+        List<OrderItem> merged = new ArrayList<>();
+        for (OrderItem item : newItems()) {
+            merged.stream()
+                    .filter(existing -> existing.getProductId() == item.getProductId())
+                    .findFirst()
+                    .ifPresentOrElse(existing -> existing.setQuantity(existing.getQuantity() + item.getQuantity()),
+                            () -> merged.add(item));
+        }
+        return merged;
+    }
+
+    private List<OrderItem> newItems() {
+        List<OrderItem> items = new ArrayList<>(lines);
+        for (int productId : productIds) {
+            items.add(new OrderItem(productId, "Product", 1, price));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.orderservice.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.orderservice.dto.ApiResponse;
+import org.example.orderservice.dto.response.OrderResponse;
+import org.example.orderservice.mapper.OrderMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes and parses one list page, {@code ApiResponse<List<OrderResponse>>} of
+ * {@code pageSize} orders with {@code cartSize} items each, using an ObjectMapper configured
+ * the way Spring Boot configures the application's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderJsonBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int cartSize;
+
+    @Param({"50"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private ApiResponse<List<OrderResponse>> page;
+    private byte[] json;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        TypeReference<ApiResponse<List<OrderResponse>>> type = new TypeReference<>() {
+        };
+        writer = objectMapper.writerFor(type);
+        reader = objectMapper.readerFor(type);
+
+        OrderMapper orderMapper = new OrderMapper();
+        List<OrderResponse> orders = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            orders.add(orderMapper.toGetOrderResponse(BenchmarkData.order(i + 1, cartSize)));
+        }
+        page = new ApiResponse<>("All orders retrieved successfully", orders, "bmV4dC1wYWdl");
+        json = writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public ApiResponse<List<OrderResponse>> deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+}
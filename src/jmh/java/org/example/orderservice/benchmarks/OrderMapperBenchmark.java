@@ -0,0 +1,65 @@
+package org.example.orderservice.benchmarks;
+
+import org.example.orderservice.dto.request.CreateOrderRequest;
+import org.example.orderservice.dto.response.OrderResponse;
+import org.example.orderservice.entities.Order;
+import org.example.orderservice.mapper.OrderMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-to-entity and entity-to-response mapping, plus reading an order's total.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderMapperBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int cartSize;
+
+    private final OrderMapper orderMapper = new OrderMapper();
+    private CreateOrderRequest request;
+    private Order order;
+
+    @Setup
+    public void setup() {
+        request = BenchmarkData.createOrderRequest(cartSize);
+        order = BenchmarkData.order(1L, cartSize);
+    }
+
+    @Benchmark
+    public Order toEntity() {
+        return orderMapper.toEntity(request, "customer-1");
+    }
+
+    @Benchmark
+    public OrderResponse toGetOrderResponse() {
+        return orderMapper.toGetOrderResponse(order);
+    }
+
+    @Benchmark
+    public OrderResponse toOrderTotalsResponse() {
+        return orderMapper.toOrderTotalsResponse(order);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalAmount() {
+        return order.calculateTotalAmount();
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.orderservice.benchmarks;
+
+import org.example.orderservice.entities.OrderItem;
+import org.example.orderservice.money.MoneySum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sums {@code lines} DECIMAL(10,2) price lines the way order totals used to be computed and
+ * with {@link MoneySum}. Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalsBenchmark {
+
+    @Param({"10", "100"})
+    private int lines;
+
+    private List<OrderItem> items;
+    private long[] unscaledPrices;
+    private int[] quantities;
+
+    @Setup
+    public void setup() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        items = new ArrayList<>(lines);
+        unscaledPrices = new long[lines];
+        quantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            unscaledPrices[i] = random.nextLong(1, 10_000_000L);
+            quantities[i] = random.nextInt(1, 20);
+            items.add(new OrderItem(i, "Product", quantities[i], BigDecimal.valueOf(unscaledPrices[i], 2)));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        return items.stream()
+                .map(item -> item.getProductPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal moneySum() {
+        MoneySum sum = new MoneySum();
+        for (int i = 0; i < lines; i++) {
+            sum.addLine(unscaledPrices[i], 2, quantities[i]);
+        }
+        return sum.toBigDecimal();
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.orderservice.loadtest;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Adds a fixed delay before every statement execution, emulating a slow database or a latency
+ * spike on the network to it. The connection stays checked out during the delay, exactly as it
+ * would while waiting on a slow server.
+ */
+final class DatabaseLatencyInjector implements BeanPostProcessor {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final long delayNanos;
+
+    DatabaseLatencyInjector(Duration delay) {
+        this.delayNanos = delay.toNanos();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return wrap(Connection.class, super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return wrap(Connection.class, super.getConnection(username, password));
+            }
+        };
+    }
+
+    private <T> T wrap(Class<T> type, T target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (target instanceof Statement && EXECUTE_METHODS.contains(method.getName())) {
+                delay();
+            }
+            Object result = invoke(method, target, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return wrapStatement(method.getReturnType(), statement);
+            }
+            return result;
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T wrapStatement(Class<?> type, Statement statement) {
+        return (T) wrap((Class<Statement>) type, statement);
+    }
+
+    private void delay() throws InterruptedException {
+        Thread.sleep(Duration.ofNanos(delayNanos));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.orderservice.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms and outcome counters. Latencies are recorded in
+ * microseconds from the request's intended send time, so a stalled server shows up as queueing
+ * delay instead of being hidden by coordinated omission.
+ */
+final class LatencyReport {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> successes = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> clientErrors = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> serverErrors = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> failures = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> dropped = new EnumMap<>(Operation.class);
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(MAX_TRACKABLE_MICROS, 3));
+            successes.put(operation, new LongAdder());
+            clientErrors.put(operation, new LongAdder());
+            serverErrors.put(operation, new LongAdder());
+            failures.put(operation, new LongAdder());
+            dropped.put(operation, new LongAdder());
+        }
+    }
+
+    void recordResponse(Operation operation, long latencyNanos, int statusCode) {
+        record(operation, latencyNanos);
+        if (statusCode >= 500) {
+            serverErrors.get(operation).increment();
+        } else if (statusCode >= 400) {
+            clientErrors.get(operation).increment();
+        } else {
+            successes.get(operation).increment();
+        }
+    }
+
+    void recordFailure(Operation operation, long latencyNanos) {
+        record(operation, latencyNanos);
+        failures.get(operation).increment();
+    }
+
+    void recordDropped(Operation operation) {
+        dropped.get(operation).increment();
+    }
+
+    /**
+     * Discards everything recorded so far, e.g. at the end of the warmup.
+     */
+    void reset() {
+        for (Operation operation : Operation.values()) {
+            recorders.get(operation).reset();
+            successes.get(operation).reset();
+            clientErrors.get(operation).reset();
+            serverErrors.get(operation).reset();
+            failures.get(operation).reset();
+            dropped.get(operation).reset();
+        }
+    }
+
+    /**
+     * Prints a percentile table and writes each operation's full distribution as
+     * {@code <operation>.hgrm} plus a histogram log to {@code outputDirectory}.
+     */
+    void write(Duration measured, PrintStream out, Path outputDirectory) throws IOException {
+        Files.createDirectories(outputDirectory);
+        double seconds = measured.toNanos() / 1e9;
+
+        out.printf("%n%-7s %9s %8s %6s %6s %6s %6s %9s %9s %9s %9s %9s%n", "op", "count", "rps",
+                "2xx", "4xx", "5xx", "fail", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        try (PrintStream log = new PrintStream(outputDirectory.resolve("latency.hlog").toFile())) {
+            HistogramLogWriter logWriter = new HistogramLogWriter(log);
+            logWriter.outputLogFormatVersion();
+            logWriter.outputLegend();
+
+            for (Operation operation : Operation.values()) {
+                Histogram histogram = recorders.get(operation).getIntervalHistogram();
+                histogram.setTag(operation.name());
+                logWriter.outputIntervalHistogram(histogram);
+
+                long count = histogram.getTotalCount();
+                out.printf("%-7s %9d %8.1f %6d %6d %6d %6d", operation, count, count / seconds,
+                        successes.get(operation).sum(), clientErrors.get(operation).sum(),
+                        serverErrors.get(operation).sum(),
+                        failures.get(operation).sum() + dropped.get(operation).sum());
+                for (double percentile : PERCENTILES) {
+                    out.printf(" %9.2f", millis(histogram.getValueAtPercentile(percentile)));
+                }
+                out.printf(" %9.2f%n", millis(histogram.getMaxValue()));
+
+                try (PrintStream hgrm = new PrintStream(
+                        outputDirectory.resolve(operation.name().toLowerCase() + ".hgrm").toFile())) {
+                    histogram.outputPercentileDistribution(hgrm, 1000.0);
+                }
+            }
+        }
+        out.printf("%nFull distributions (in ms) written to %s%n", outputDirectory.toAbsolutePath());
+    }
+
+    private void record(Operation operation, long latencyNanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_TRACKABLE_MICROS);
+        recorders.get(operation).recordValue(Math.max(micros, 1));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.orderservice.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.example.orderservice.OrderServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Boots the service on a random port against a throwaway embedded PostgreSQL (or
+ * {@code jdbcUrl=...}), drives an open-model workload through real HTTP and prints latency
+ * percentiles per operation.
+ * <p>
+ * Run with {@code mvn -Pload-test test-compile exec:exec -Dloadtest.args="rate=200 duration=60s"};
+ * see {@link WorkloadConfig} for every setting.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        WorkloadConfig config = WorkloadConfig.parse(args);
+        System.out.printf("Workload: rate=%.1f/s warmup=%s duration=%s mix=%s cartSizes=%s customers=%d skew=%.2f"
+                        + " virtualThreads=%s dbLatency=%s poolSize=%d%n",
+                config.rate(), config.warmup(), config.duration(), config.mix(), config.cartSizes(),
+                config.customers(), config.skew(), config.virtualThreads(), config.dbLatency(), config.poolSize());
+
+        EmbeddedPostgres postgres = null;
+        ConfigurableApplicationContext context = null;
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(
+                Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+        try {
+            // Passed as command-line arguments so they override application.properties
+            Map<String, String> properties = new HashMap<>();
+            properties.put("server.port", "0");
+            properties.put("spring.jpa.show-sql", "false");
+            properties.put("logging.level.root", "WARN");
+            properties.put("spring.threads.virtual.enabled", Boolean.toString(config.virtualThreads()));
+            if (config.poolSize() > 0) {
+                properties.put("spring.datasource.hikari.maximum-pool-size", Integer.toString(config.poolSize()));
+            }
+            if (config.jdbcUrl().isBlank()) {
+                postgres = EmbeddedPostgres.builder().start();
+                properties.put("spring.datasource.url",
+                        postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+            } else {
+                properties.put("spring.datasource.url", config.jdbcUrl());
+            }
+
+            SpringApplicationBuilder application = new SpringApplicationBuilder(OrderServiceApplication.class);
+            if (!config.dbLatency().isZero()) {
+                application.initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .addBeanPostProcessor(new DatabaseLatencyInjector(config.dbLatency())));
+            }
+            context = application
+                    .run(properties.entrySet().stream()
+                            .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                            .toArray(String[]::new));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(httpExecutor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            LatencyReport report = new LatencyReport();
+            OpenModelLoadGenerator generator = new OpenModelLoadGenerator(config,
+                    URI.create("http://localhost:" + port), client, report);
+
+            generator.seed();
+            if (!config.warmup().isZero()) {
+                System.out.printf("Warming up for %s%n", config.warmup());
+                generator.run(config.warmup());
+            }
+            report.reset();
+
+            System.out.printf("Measuring for %s%n", config.duration());
+            generator.run(config.duration());
+            report.write(config.duration(), System.out, Path.of(config.outputDirectory()));
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            httpExecutor.shutdownNow();
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package org.example.orderservice.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at Poisson-distributed arrival times, independent of how fast responses come
+ * back (an open workload). All random choices are made on the scheduling thread from one seeded
+ * {@link Random}, so the same configuration replays the same request sequence.
+ */
+final class OpenModelLoadGenerator {
+
+    private static final int KNOWN_ORDERS = 10_000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final WorkloadConfig config;
+    private final URI baseUri;
+    private final HttpClient client;
+    private final LatencyReport report;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ZipfSampler customers;
+    private final Random random;
+    private final Semaphore inFlight;
+
+    /**
+     * Recently created orders, the pool GET and CANCEL requests draw from.
+     */
+    private final AtomicReferenceArray<CreatedOrder> knownOrders = new AtomicReferenceArray<>(KNOWN_ORDERS);
+    private final AtomicLong createdCount = new AtomicLong();
+
+    private record CreatedOrder(long orderId, String customerId) {
+    }
+
+    OpenModelLoadGenerator(WorkloadConfig config, URI baseUri, HttpClient client, LatencyReport report) {
+        this.config = config;
+        this.baseUri = baseUri;
+        this.client = client;
+        this.report = report;
+        this.customers = new ZipfSampler(config.customers(), config.skew());
+        this.random = new Random(config.randomSeed());
+        this.inFlight = new Semaphore(config.maxInFlight());
+    }
+
+    /**
+     * Creates {@code seedOrders} orders up front so the first GET and CANCEL requests have
+     * something to target. Not measured.
+     */
+    void seed() {
+        CompletableFuture<?>[] creates = new CompletableFuture<?>[config.seedOrders()];
+        for (int i = 0; i < creates.length; i++) {
+            String customerId = nextCustomer();
+            creates[i] = client.sendAsync(createRequest(customerId), HttpResponse.BodyHandlers.ofString())
+                    .thenAccept(response -> rememberCreated(response, customerId));
+        }
+        CompletableFuture.allOf(creates).join();
+    }
+
+    void run(Duration duration) throws InterruptedException {
+        double meanGapNanos = 1e9 / config.rate();
+        long intended = System.nanoTime();
+        long end = intended + duration.toNanos();
+
+        while (true) {
+            intended += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            issue(config.mix().next(random), intended);
+        }
+
+        if (!inFlight.tryAcquire(config.maxInFlight(), REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Requests still in flight after " + REQUEST_TIMEOUT);
+        }
+        inFlight.release(config.maxInFlight());
+    }
+
+    private void issue(Operation operation, long intendedNanos) {
+        CreatedOrder order = null;
+        if (operation == Operation.GET || operation == Operation.CANCEL) {
+            order = randomKnownOrder();
+            if (order == null) {
+                // Nothing created yet to read or cancel
+                operation = Operation.LIST;
+            }
+        }
+
+        String customerId = operation == Operation.CREATE ? nextCustomer() : null;
+        HttpRequest request = switch (operation) {
+            case CREATE -> createRequest(customerId);
+            case GET -> newRequest("/api/orders/" + order.orderId(), null).GET().build();
+            case LIST -> newRequest("/api/orders?limit=20", null).GET().build();
+            case CANCEL -> newRequest("/api/orders/" + order.orderId() + "/cancel", order.customerId())
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+        };
+        Operation issued = operation;
+
+        if (!inFlight.tryAcquire()) {
+            report.recordDropped(issued);
+            return;
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+            long latency = System.nanoTime() - intendedNanos;
+            inFlight.release();
+            if (failure != null) {
+                report.recordFailure(issued, latency);
+                return;
+            }
+            report.recordResponse(issued, latency, response.statusCode());
+            if (issued == Operation.CREATE) {
+                rememberCreated(response, customerId);
+            }
+        });
+    }
+
+    private HttpRequest createRequest(String customerId) {
+        int cartSize = config.cartSizes().next(random);
+        StringBuilder body = new StringBuilder(64 + cartSize * 96).append("{\"items\":[");
+        for (int i = 0; i < cartSize; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            int productId = 1 + random.nextInt(10_000);
+            body.append("{\"productName\":\"Product ").append(productId)
+                    .append("\",\"productId\":").append(productId)
+                    .append(",\"productQuantity\":").append(1 + random.nextInt(5))
+                    .append(",\"productPrice\":").append(1 + random.nextInt(50_000)).append(".99}");
+        }
+        body.append("]}");
+
+        return newRequest("/api/orders", customerId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private HttpRequest.Builder newRequest(String path, String customerId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+        if (customerId != null) {
+            builder.header("X-Customer-Id", customerId);
+        }
+        return builder;
+    }
+
+    private String nextCustomer() {
+        return "customer-" + customers.next(random);
+    }
+
+    private CreatedOrder randomKnownOrder() {
+        long created = createdCount.get();
+        if (created == 0) {
+            return null;
+        }
+        int index = (int) ((created - 1 - random.nextInt((int) Math.min(created, KNOWN_ORDERS))) % KNOWN_ORDERS);
+        return knownOrders.get(index);
+    }
+
+    private void rememberCreated(HttpResponse<String> response, String customerId) {
+        if (response.statusCode() != 201) {
+            return;
+        }
+        try {
+            JsonNode orderId = objectMapper.readTree(response.body()).path("data").path("orderId");
+            long slot = createdCount.getAndIncrement() % KNOWN_ORDERS;
+            knownOrders.set((int) slot, new CreatedOrder(orderId.asLong(), customerId));
+        } catch (Exception ex) {
+            throw new IllegalStateException("Unexpected create response: " + response.body(), ex);
+        }
+    }
+}
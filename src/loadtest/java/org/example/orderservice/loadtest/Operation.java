@@ -0,0 +1,11 @@
+package org.example.orderservice.loadtest;
+
+/**
+ * Requests the load generator can issue; each gets its own latency histogram.
+ */
+enum Operation {
+    CREATE,
+    GET,
+    LIST,
+    CANCEL
+}
@@ -0,0 +1,75 @@
+package org.example.orderservice.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Picks values with fixed relative weights, parsed from {@code value:weight,value:weight}.
+ */
+final class WeightedChoice<T> {
+
+    private final List<T> values;
+    private final double[] cumulative;
+
+    private WeightedChoice(List<T> values, double[] cumulative) {
+        this.values = values;
+        this.cumulative = cumulative;
+    }
+
+    static <T> WeightedChoice<T> parse(String spec, Function<String, T> valueParser) {
+        List<T> values = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected value:weight but got '" + entry + "'");
+            }
+            double weight = Double.parseDouble(parts[1]);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight must not be negative in '" + entry + "'");
+            }
+            values.add(valueParser.apply(parts[0].trim()));
+            weights.add(weight);
+        }
+
+        double[] cumulative = new double[weights.size()];
+        double total = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            total += weights.get(i);
+            cumulative[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one weight must be positive in '" + spec + "'");
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+        return new WeightedChoice<>(values, cumulative);
+    }
+
+    T next(Random random) {
+        double u = random.nextDouble();
+        for (int i = 0; i < cumulative.length; i++) {
+            if (u < cumulative[i]) {
+                return values.get(i);
+            }
+        }
+        return values.get(values.size() - 1);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        double previous = 0;
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(values.get(i)).append(':').append(Math.round((cumulative[i] - previous) * 1000) / 10.0).append('%');
+            previous = cumulative[i];
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.orderservice.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Workload settings, given as {@code key=value} program arguments. Unknown keys are rejected
+ * so a typo cannot silently run the default workload.
+ *
+ * @param rate         target arrivals per second; requests are sent on schedule whether or not
+ *                     earlier ones have completed (open model)
+ * @param mix          request mix, e.g. {@code create:30,get:50,list:15,cancel:5}
+ * @param cartSizes    cart size distribution for creates, e.g. {@code 1:50,3:30,10:15,50:5}
+ * @param customers    number of distinct customer ids
+ * @param skew         Zipf exponent of customer popularity, 0 for uniform
+ * @param maxInFlight  requests allowed in flight before new arrivals are counted as dropped
+ * @param virtualThreads  run requests and background work on virtual threads
+ *                        ({@code spring.threads.virtual.enabled})
+ * @param dbLatency    delay added before every SQL statement to emulate a slow database
+ * @param poolSize     maximum JDBC connections, 0 for the application's setting
+ */
+record WorkloadConfig(
+        double rate,
+        Duration warmup,
+        Duration duration,
+        WeightedChoice<Operation> mix,
+        WeightedChoice<Integer> cartSizes,
+        int customers,
+        double skew,
+        int seedOrders,
+        int maxInFlight,
+        boolean virtualThreads,
+        Duration dbLatency,
+        int poolSize,
+        String jdbcUrl,
+        String outputDirectory,
+        long randomSeed
+) {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("rate", "100"),
+            Map.entry("warmup", "10s"),
+            Map.entry("duration", "60s"),
+            Map.entry("mix", "create:30,get:50,list:15,cancel:5"),
+            Map.entry("cartSizes", "1:50,3:30,10:15,50:5"),
+            Map.entry("customers", "1000"),
+            Map.entry("skew", "1.0"),
+            Map.entry("seedOrders", "500"),
+            Map.entry("maxInFlight", "512"),
+            Map.entry("virtualThreads", "false"),
+            Map.entry("dbLatency", "0ms"),
+            Map.entry("poolSize", "0"),
+            Map.entry("jdbcUrl", ""),
+            Map.entry("output", "target/load-test"),
+            Map.entry("seed", "42")
+    );
+
+    static WorkloadConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String key = separator < 0 ? arg : arg.substring(0, separator);
+            if (separator < 0 || !DEFAULTS.containsKey(key)) {
+                throw new IllegalArgumentException("Unknown argument '" + arg + "', expected one of key=value for "
+                        + DEFAULTS.keySet());
+            }
+            values.put(key, arg.substring(separator + 1));
+        }
+
+        return new WorkloadConfig(
+                Double.parseDouble(values.get("rate")),
+                parseDuration(values.get("warmup")),
+                parseDuration(values.get("duration")),
+                WeightedChoice.parse(values.get("mix"), name -> Operation.valueOf(name.toUpperCase())),
+                WeightedChoice.parse(values.get("cartSizes"), Integer::valueOf),
+                Integer.parseInt(values.get("customers")),
+                Double.parseDouble(values.get("skew")),
+                Integer.parseInt(values.get("seedOrders")),
+                Integer.parseInt(values.get("maxInFlight")),
+                Boolean.parseBoolean(values.get("virtualThreads")),
+                parseDuration(values.get("dbLatency")),
+                Integer.parseInt(values.get("poolSize")),
+                values.get("jdbcUrl"),
+                values.get("output"),
+                Long.parseLong(values.get("seed"))
+        );
+    }
+
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(value);
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.orderservice.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Samples ranks {@code 0..n-1} with probability proportional to {@code 1 / (rank + 1)^exponent}.
+ * An exponent of 0 is uniform; around 1 a few hot customers produce most of the traffic.
+ */
+final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+
+    int next(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
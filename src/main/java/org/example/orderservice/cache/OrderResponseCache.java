@@ -0,0 +1,101 @@
+package org.example.orderservice.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.orderservice.configuration.OrderCacheProperties;
+import org.example.orderservice.dto.response.OrderResponse;
+import org.example.orderservice.exception.ResourceNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of mapped {@link OrderResponse}s keyed by order id. Caffeine bounds it by
+ * size (W-TinyLFU eviction) and by time since write.
+ * <p>
+ * Evictions run after the surrounding transaction commits. Evicting earlier lets a concurrent
+ * reader cache the pre-commit row again. A reader that loaded just before the commit can still
+ * put a stale entry back, so the TTL bounds how long any missed invalidation can last.
+ * <p>
+ * Entries are futures, and a miss loads outside the map's bin lock: a synchronous
+ * {@code Cache.get} would run the database load inside {@code ConcurrentHashMap.compute}, whose
+ * {@code synchronized} block pins a virtual thread to its carrier for the whole query.
+ * Concurrent misses for the same id still wait for the one load in flight.
+ */
+@Component
+public class OrderResponseCache implements MeterBinder {
+
+    static final String CACHE_NAME = "orders";
+
+    private final AsyncCache<Long, OrderResponse> cache;
+
+    public OrderResponseCache(OrderCacheProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.timeToLive())
+                .recordStats()
+                .buildAsync();
+    }
+
+    public OrderResponse get(Long orderId, Function<Long, OrderResponse> loader) {
+        CompletableFuture<OrderResponse> loading = new CompletableFuture<>();
+        CompletableFuture<OrderResponse> cached = cache.get(orderId, (id, executor) -> loading);
+        if (cached == loading) {
+            try {
+                loading.complete(loader.apply(orderId));
+            } catch (ResourceNotFoundException ex) {
+                // An expected miss: Caffeine logs every exceptional load, so the entry is dropped
+                // through a null value instead and waiters look the id up themselves
+                loading.complete(null);
+                throw ex;
+            } catch (RuntimeException | Error ex) {
+                loading.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+        OrderResponse response;
+        try {
+            response = cached.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        return response != null ? response : loader.apply(orderId);
+    }
+
+    public void evictAfterCommit(Long orderId) {
+        afterCommit(() -> cache.synchronous().invalidate(orderId));
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+}
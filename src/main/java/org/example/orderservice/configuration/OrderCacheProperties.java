@@ -0,0 +1,13 @@
+package org.example.orderservice.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "orders.cache")
+public record OrderCacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("30s") Duration timeToLive
+) {
+}
@@ -0,0 +1,23 @@
+package org.example.orderservice.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled        collect concurrent single-order creates into shared transactions
+ * @param maxBatchSize   orders per transaction
+ * @param maxWait        longest a create waits for others to join its batch
+ * @param queueCapacity  waiting creates; when full, a create runs in its own transaction
+ * @param committers     threads committing batches in parallel
+ */
+@ConfigurationProperties(prefix = "orders.group-commit")
+public record OrderGroupCommitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("50") int maxBatchSize,
+        @DefaultValue("2ms") Duration maxWait,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("2") int committers
+) {
+}
@@ -0,0 +1,17 @@
+package org.example.orderservice.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maximumSize  keys kept in memory; older ones are still answered from the database
+ * @param timeToLive   how long a key is honoured, both in memory and in the database
+ */
+@ConfigurationProperties(prefix = "orders.idempotency")
+public record OrderIdempotencyProperties(
+        @DefaultValue("100000") long maximumSize,
+        @DefaultValue("24h") Duration timeToLive
+) {
+}
@@ -0,0 +1,29 @@
+package org.example.orderservice.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param enabled        accept single-order creates into the local journal and answer 202
+ * @param directory      where journal segments and the checkpoint live
+ * @param segmentSize    size of each memory-mapped segment file
+ * @param maxPending     accepted orders not yet persisted; beyond it creates go straight to the database
+ * @param drainBatchSize orders persisted per transaction by the drainer
+ * @param retryInterval  wait before the drainer retries a batch the database rejected
+ * @param maxAttempts    times one order alone may be rejected before it is parked in {@code parked.ndjson}
+ */
+@ConfigurationProperties(prefix = "orders.journal")
+public record OrderJournalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("order-journal") Path directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("100000") int maxPending,
+        @DefaultValue("100") int drainBatchSize,
+        @DefaultValue("1s") Duration retryInterval,
+        @DefaultValue("3") int maxAttempts
+) {
+}
@@ -0,0 +1,28 @@
+package org.example.orderservice.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param enabled        write order events to {@code order_outbox} and relay them
+ * @param publisher      stand-in publisher for local use: {@code memory}, {@code file} or {@code none}
+ * @param batchSize      events claimed and published per relay transaction
+ * @param pollInterval   longest the relay sleeps when it is not woken by a local commit
+ * @param retention      how long published events are kept before the purge deletes them
+ * @param memoryCapacity most recent events kept by the in-memory publisher
+ * @param file           NDJSON file the file publisher appends to
+ */
+@ConfigurationProperties(prefix = "orders.outbox")
+public record OrderOutboxProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("memory") String publisher,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("1s") Duration pollInterval,
+        @DefaultValue("24h") Duration retention,
+        @DefaultValue("10000") int memoryCapacity,
+        @DefaultValue("order-events.ndjson") Path file
+) {
+}
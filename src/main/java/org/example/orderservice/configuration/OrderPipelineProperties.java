@@ -0,0 +1,13 @@
+package org.example.orderservice.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "orders.pipeline")
+public record OrderPipelineProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("2") int processors,
+        @DefaultValue("100") int maxBatchSize
+) {
+}
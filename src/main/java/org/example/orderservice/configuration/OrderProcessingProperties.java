@@ -0,0 +1,20 @@
+package org.example.orderservice.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Tuning for the pending order processor. Chunk size adapts between the min and max bounds so
+ * that one chunk (claim, update, commit) takes roughly {@code targetChunkLatency}.
+ */
+@ConfigurationProperties(prefix = "orders.processing")
+public record OrderProcessingProperties(
+        @DefaultValue("4") int workers,
+        @DefaultValue("100") int initialChunkSize,
+        @DefaultValue("10") int minChunkSize,
+        @DefaultValue("1000") int maxChunkSize,
+        @DefaultValue("250ms") Duration targetChunkLatency
+) {
+}
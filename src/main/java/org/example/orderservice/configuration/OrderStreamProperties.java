@@ -0,0 +1,23 @@
+package org.example.orderservice.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param heartbeatInterval comment sent on idle streams to keep proxies from closing them
+ * @param timeout           lifetime of one stream; the client reconnects with Last-Event-ID
+ * @param queueCapacity     events buffered per subscriber; a subscriber that falls further behind is disconnected
+ * @param senders           threads writing to subscribers, when not on virtual threads
+ * @param replayLimit       events replayed per connection; a subscriber missing more reconnects for the rest
+ */
+@ConfigurationProperties(prefix = "orders.stream")
+public record OrderStreamProperties(
+        @DefaultValue("15s") Duration heartbeatInterval,
+        @DefaultValue("30m") Duration timeout,
+        @DefaultValue("256") int queueCapacity,
+        @DefaultValue("4") int senders,
+        @DefaultValue("1000") int replayLimit
+) {
+}
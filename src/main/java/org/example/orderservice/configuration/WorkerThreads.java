@@ -0,0 +1,39 @@
+package org.example.orderservice.configuration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the threads of the order processing workers. They follow the same switch as Tomcat
+ * and the Spring task scheduler, {@code spring.threads.virtual.enabled}, so one property moves
+ * all blocking request and background work between platform and virtual threads.
+ */
+@Component
+public class WorkerThreads {
+
+    private final boolean virtual;
+
+    @Autowired
+    public WorkerThreads(Environment environment) {
+        this(Threading.VIRTUAL.isActive(environment));
+    }
+
+    public WorkerThreads(boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public ThreadFactory named(String prefix) {
+        return virtual
+                ? Thread.ofVirtual().name(prefix, 1).factory()
+                : new CustomizableThreadFactory(prefix);
+    }
+}
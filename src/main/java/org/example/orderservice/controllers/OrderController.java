@@ -1,26 +1,60 @@
 package org.example.orderservice.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Size;
 
+import org.example.orderservice.dto.request.BatchCreateOrderRequest;
 import org.example.orderservice.dto.request.CreateOrderRequest;
+import org.example.orderservice.dto.request.OrderItemRequest;
+import org.example.orderservice.dto.response.AcceptedOrderResponse;
 import org.example.orderservice.dto.response.CreateOrderResponse;
+import org.example.orderservice.dto.response.OrderChangesResponse;
 import org.example.orderservice.dto.response.OrderResponse;
+import org.example.orderservice.dto.response.OrderSummaryResponse;
+import org.example.orderservice.dto.response.RejectedOrderResponse;
 import org.example.orderservice.entities.Order;
 import org.example.orderservice.entities.OrderStatus;
+import org.example.orderservice.exception.ResourceNotFoundException;
+import org.example.orderservice.jfr.OrderCreateEvent;
+import org.example.orderservice.journal.ParkedOrder;
 import org.example.orderservice.mapper.OrderMapper;
+import org.example.orderservice.pagination.CursorPage;
+import org.example.orderservice.service.OrderGroupCommitter;
+import org.example.orderservice.service.OrderIdempotencyService;
+import org.example.orderservice.service.OrderIntakeService;
 import org.example.orderservice.service.OrderService;
+import org.example.orderservice.stats.OrderStatusCounters;
+import org.example.orderservice.stream.OrderEventHub;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -28,43 +62,196 @@ public class OrderController {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
 
+    // Length of the customer_id columns; longer ids are refused here rather than by the database
+    private static final int MAX_CUSTOMER_ID_LENGTH = 255;
+    private static final String CUSTOMER_ID_TOO_LONG = "Customer ID must be at most 255 characters";
+
     private final OrderService orderService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderGroupCommitter orderGroupCommitter;
+    private final OrderIntakeService orderIntakeService;
     private final OrderMapper orderMapper;
+    private final Validator validator;
+    private final OrderStatusCounters orderStatusCounters;
+    private final OrderEventHub orderEventHub;
+    private final ObjectWriter exportWriter;
 
-    public OrderController(OrderService orderService, OrderMapper orderMapper) {
+    public OrderController(OrderService orderService, OrderIdempotencyService orderIdempotencyService,
+                           OrderGroupCommitter orderGroupCommitter, OrderIntakeService orderIntakeService,
+                           OrderMapper orderMapper, Validator validator,
+                           OrderStatusCounters orderStatusCounters, OrderEventHub orderEventHub,
+                           ObjectMapper objectMapper) {
         this.orderService = orderService;
+        this.orderIdempotencyService = orderIdempotencyService;
+        this.orderGroupCommitter = orderGroupCommitter;
+        this.orderIntakeService = orderIntakeService;
         this.orderMapper = orderMapper;
+        this.validator = validator;
+        this.orderStatusCounters = orderStatusCounters;
+        this.orderEventHub = orderEventHub;
+        this.exportWriter = objectMapper.writerFor(OrderResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @Operation(summary = "Create a new order")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Order created successfully",
                     content = @Content(schema = @Schema(implementation = CreateOrderResponse.class))),
+            @ApiResponse(responseCode = "202", description = "Order accepted into the journal, persisted shortly",
+                    content = @Content(schema = @Schema(implementation = AcceptedOrderResponse.class))),
             @ApiResponse(responseCode = "400", description = "Validation failed or bad request"),
             @ApiResponse(responseCode = "403", description = "Unauthorized access"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @PostMapping("")
-    @ResponseStatus(HttpStatus.CREATED)
-    public org.example.orderservice.dto.ApiResponse<CreateOrderResponse> createOrder(
+    public ResponseEntity<org.example.orderservice.dto.ApiResponse<?>> createOrder(
             @Parameter(description = "Customer ID", required = true)
-            @RequestHeader("X-Customer-Id") String customerId,
-            @Valid @RequestBody CreateOrderRequest createOrderRequest) {
+            @RequestHeader("X-Customer-Id") @Size(max = MAX_CUSTOMER_ID_LENGTH, message = CUSTOMER_ID_TOO_LONG) String customerId,
+            @Parameter(description = "Client-chosen key; retries with the same key return the original order")
+            @RequestHeader(value = OrderIdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody CreateOrderRequest createOrderRequest) {
 
         logger.info("Received request to create order for customerId={}", customerId);
 
-        Order order = orderMapper.toEntity(createOrderRequest, customerId);
-
-        Order createdOrder = orderService.createOrder(order);
+        // Keyed requests are promised the order id itself, so they are never answered from the journal
+        if (idempotencyKey == null && orderIntakeService.isRunning()) {
+            validate(createOrderRequest);
+            OrderCreateEvent event = new OrderCreateEvent();
+            event.begin();
+            Optional<UUID> intakeId = orderIntakeService.accept(customerId, createOrderRequest);
+            if (intakeId.isPresent()) {
+                event.orderCount = 1;
+                event.itemCount = (int) createOrderRequest.items().stream().map(OrderItemRequest::productId).distinct().count();
+                event.journaled = true;
+                event.commit();
+                logger.info("Order accepted for customerId={}, intakeId={}", customerId, intakeId.get());
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(new org.example.orderservice.dto.ApiResponse<>(
+                        "Order accepted", new AcceptedOrderResponse(intakeId.get())));
+            }
+        }
 
-        CreateOrderResponse response = orderMapper.toCreateOrderResponse(createdOrder);
+        // Validated inside placeOrder so that a replayed key skips validation as well
+        CreateOrderResponse response = idempotencyKey == null
+                ? placeOrder(customerId, null, createOrderRequest)
+                : orderIdempotencyService.createOnce(customerId, idempotencyKey,
+                        () -> placeOrder(customerId, idempotencyKey, createOrderRequest));
 
         logger.info("Order created successfully for customerId={}, orderId={}",
                 customerId, response.orderId());
 
-        return new org.example.orderservice.dto.ApiResponse<>("Order placed successfully", response);
+        return ResponseEntity.status(HttpStatus.CREATED).body(
+                new org.example.orderservice.dto.ApiResponse<>("Order placed successfully", response));
+    }
+
+    @Operation(summary = "Resolve the provisional ID of an accepted order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order persisted",
+                    content = @Content(schema = @Schema(implementation = CreateOrderResponse.class))),
+            @ApiResponse(responseCode = "202", description = "Order accepted, not yet persisted"),
+            @ApiResponse(responseCode = "404", description = "No order accepted under this ID"),
+            @ApiResponse(responseCode = "422", description = "Order accepted but rejected when persisted; it will not be created",
+                    content = @Content(schema = @Schema(implementation = RejectedOrderResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/intake/{intakeId}")
+    public ResponseEntity<org.example.orderservice.dto.ApiResponse<?>> getIntakeStatus(
+            @Parameter(description = "Customer ID", required = true)
+            @RequestHeader("X-Customer-Id") @Size(max = MAX_CUSTOMER_ID_LENGTH, message = CUSTOMER_ID_TOO_LONG) String customerId,
+            @Parameter(description = "Provisional ID returned when the order was accepted", required = true)
+            @PathVariable UUID intakeId) {
+
+        if (orderIntakeService.isPending(customerId, intakeId)) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(new org.example.orderservice.dto.ApiResponse<>(
+                    "Order accepted, not yet persisted", new AcceptedOrderResponse(intakeId)));
+        }
+        Optional<ParkedOrder> parked = orderIntakeService.findParked(customerId, intakeId);
+        if (parked.isPresent()) {
+            return ResponseEntity.unprocessableEntity().body(new org.example.orderservice.dto.ApiResponse<>(
+                    "Order rejected, not persisted", new RejectedOrderResponse(intakeId, parked.get().reason(),
+                            parked.get().parkedAt())));
+        }
+        Long orderId = orderIntakeService.findOrderId(customerId, intakeId)
+                .orElseThrow(() -> new ResourceNotFoundException("No order accepted with intake ID " + intakeId));
+        return ResponseEntity.ok(new org.example.orderservice.dto.ApiResponse<>(
+                "Order persisted", new CreateOrderResponse(orderId)));
+    }
+
+    private CreateOrderResponse placeOrder(String customerId, String idempotencyKey,
+                                           CreateOrderRequest createOrderRequest) {
+        validate(createOrderRequest);
+
+        OrderCreateEvent event = new OrderCreateEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Order order = orderMapper.toEntity(createOrderRequest, customerId);
+        long mapped = System.nanoTime();
+
+        Order createdOrder = orderGroupCommitter.createOrder(order, idempotencyKey);
+        long persisted = System.nanoTime();
+
+        CreateOrderResponse response = orderMapper.toCreateOrderResponse(createdOrder);
+        event.end();
+        if (event.shouldCommit()) {
+            event.orderCount = 1;
+            event.itemCount = createdOrder.getItemCount();
+            event.mappingTime = (mapped - start) + (System.nanoTime() - persisted);
+            event.dbTime = persisted - mapped;
+            event.commit();
+        }
+        return response;
+    }
+
+    private void validate(CreateOrderRequest createOrderRequest) {
+        Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(createOrderRequest);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
     }
 
+    @Operation(summary = "Create several orders in one request")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Orders created successfully"),
+            @ApiResponse(responseCode = "400", description = "Validation failed or bad request"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public org.example.orderservice.dto.ApiResponse<List<CreateOrderResponse>> createOrders(
+            @Parameter(description = "Customer ID", required = true)
+            @RequestHeader("X-Customer-Id") @Size(max = MAX_CUSTOMER_ID_LENGTH, message = CUSTOMER_ID_TOO_LONG) String customerId,
+            @Valid @RequestBody BatchCreateOrderRequest batchCreateOrderRequest) {
+
+        logger.info("Received request to create {} orders for customerId={}",
+                batchCreateOrderRequest.orders().size(), customerId);
+
+        OrderCreateEvent event = new OrderCreateEvent();
+        event.begin();
+        long start = System.nanoTime();
+        List<Order> orders = batchCreateOrderRequest.orders().stream()
+                .map(request -> orderMapper.toEntity(request, customerId))
+                .toList();
+        long mapped = System.nanoTime();
+
+        List<Order> createdOrders = orderService.createOrders(orders);
+        long persisted = System.nanoTime();
+
+        List<CreateOrderResponse> responses = createdOrders.stream()
+                .map(orderMapper::toCreateOrderResponse)
+                .toList();
+        event.end();
+        if (event.shouldCommit()) {
+            event.orderCount = createdOrders.size();
+            event.itemCount = createdOrders.stream().mapToInt(Order::getItemCount).sum();
+            event.mappingTime = (mapped - start) + (System.nanoTime() - persisted);
+            event.dbTime = persisted - mapped;
+            event.commit();
+        }
+
+        logger.info("{} orders created successfully for customerId={}", responses.size(), customerId);
+
+        return new org.example.orderservice.dto.ApiResponse<>("Orders placed successfully", responses);
+    }
 
     @Operation(summary = "Get order details by order ID")
     @ApiResponses(value = {
@@ -77,16 +264,15 @@ public class OrderController {
     public org.example.orderservice.dto.ApiResponse<OrderResponse> getOrderById( @Parameter(description = "Order ID", required = true) @PathVariable Long orderId) {
         logger.info("[Order Controller] Fetching order for  orderId={}", orderId);
 
-        Order order = orderService.getOrderById(orderId);
-        OrderResponse response = orderMapper.toGetOrderResponse(order);
+        OrderResponse response = orderService.getOrderResponse(orderId);
 
         logger.info("[Order Controller] Successfully retrieved order for orderId={}, totalAmount={}",
-                order.getId(), response.totalAmount());
+                response.orderId(), response.totalAmount());
 
         return new org.example.orderservice.dto.ApiResponse<>("Order retrieved successfully", response);
     }
 
-    @Operation(summary = "Get all orders, optionally filtered by status")
+    @Operation(summary = "Get orders newest first, optionally filtered by status, one keyset page at a time")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid query parameter"),
@@ -95,19 +281,165 @@ public class OrderController {
     @GetMapping
     public org.example.orderservice.dto.ApiResponse<List<OrderResponse>> getAllOrders(
             @Parameter(description = "Optional status filter")
-            @RequestParam(required = false) OrderStatus status) {
+            @RequestParam(required = false) OrderStatus status,
+            @Parameter(description = "Opaque cursor taken from nextCursor of the previous page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Page size, capped at 200 (default 50)")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Set to false to return only order totals without loading items")
+            @RequestParam(defaultValue = "true") boolean includeItems) {
 
-        logger.info("[Order Controller] Fetching all orders  status={}", status);
+        logger.info("[Order Controller] Fetching orders status={}, after={}, limit={}, includeItems={}",
+                status, after, limit, includeItems);
 
-        List<Order> orders = orderService.getAllOrders(status);
+        Function<Order, OrderResponse> toResponse = includeItems
+                ? orderMapper::toGetOrderResponse
+                : orderMapper::toOrderTotalsResponse;
+        CursorPage<OrderResponse> page = orderService.getAllOrders(status, after, limit).map(toResponse);
 
-        List<OrderResponse> responses = orders.stream()
-                .map(orderMapper::toGetOrderResponse)
-                .toList();
+        logger.info("[Order Controller] Successfully retrieved {} orders status={}", page.content().size(), status);
+
+        return new org.example.orderservice.dto.ApiResponse<>("All orders retrieved successfully",
+                page.content(), page.nextCursor());
+    }
+
+    @Operation(summary = "Get orders changed since a watermark, oldest change first, one keyset page at a time")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order changes retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid query parameter"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/changes")
+    public org.example.orderservice.dto.ApiResponse<OrderChangesResponse> getOrderChanges(
+            @Parameter(description = "ISO-8601 instant, or the watermark returned by the previous request; omit to start from the beginning")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Page size, capped at 200 (default 50)")
+            @RequestParam(required = false) Integer limit) {
+
+        logger.info("[Order Controller] Fetching order changes since={}, limit={}", since, limit);
+
+        OrderChangesResponse response = orderService.getOrderChanges(since, limit);
+
+        logger.info("[Order Controller] Successfully retrieved {} order changes, hasMore={}",
+                response.changes().size(), response.hasMore());
+
+        return new org.example.orderservice.dto.ApiResponse<>("Order changes retrieved successfully", response);
+    }
+
+    @Operation(summary = "Stream the calling customer's order events as Server-Sent Events")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened; each event carries its outbox id"),
+            @ApiResponse(responseCode = "400", description = "Missing customer header or invalid Last-Event-ID"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderEvents(
+            @Parameter(description = "Customer ID", required = true)
+            @RequestHeader("X-Customer-Id") @Size(max = MAX_CUSTOMER_ID_LENGTH, message = CUSTOMER_ID_TOO_LONG) String customerId,
+            @Parameter(description = "Id of the last event received, to resume after it")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+        logger.info("[Order Controller] Opening order event stream for customerId={}, lastEventId={}",
+                customerId, lastEventId);
+
+        return orderEventHub.subscribe(customerId, lastEventId);
+    }
+
+    @Operation(summary = "Get the calling customer's orders newest first, one keyset page at a time")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid query parameter"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/mine")
+    public org.example.orderservice.dto.ApiResponse<List<OrderResponse>> getCustomerOrders(
+            @Parameter(description = "Customer ID", required = true)
+            @RequestHeader("X-Customer-Id") @Size(max = MAX_CUSTOMER_ID_LENGTH, message = CUSTOMER_ID_TOO_LONG) String customerId,
+            @Parameter(description = "Opaque cursor taken from nextCursor of the previous page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Page size, capped at 200 (default 50)")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Set to false to return only order totals without loading items")
+            @RequestParam(defaultValue = "true") boolean includeItems) {
+
+        logger.info("[Order Controller] Fetching orders for customerId={}, after={}, limit={}", customerId, after, limit);
+
+        Function<Order, OrderResponse> toResponse = includeItems
+                ? orderMapper::toGetOrderResponse
+                : orderMapper::toOrderTotalsResponse;
+        CursorPage<OrderResponse> page = orderService.getCustomerOrders(customerId, after, limit).map(toResponse);
+
+        logger.info("[Order Controller] Successfully retrieved {} orders for customerId={}", page.content().size(), customerId);
+
+        return new org.example.orderservice.dto.ApiResponse<>("Customer orders retrieved successfully",
+                page.content(), page.nextCursor());
+    }
+
+    @Operation(summary = "Get order summaries (no items) newest first, one keyset page at a time")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order summaries retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid query parameter"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/summary")
+    public org.example.orderservice.dto.ApiResponse<List<OrderSummaryResponse>> getOrderSummaries(
+            @Parameter(description = "Optional status filter")
+            @RequestParam(required = false) OrderStatus status,
+            @Parameter(description = "Opaque cursor taken from nextCursor of the previous page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Page size, capped at 200 (default 50)")
+            @RequestParam(required = false) Integer limit) {
+
+        logger.info("[Order Controller] Fetching order summaries status={}, after={}, limit={}", status, after, limit);
+
+        CursorPage<OrderSummaryResponse> page = orderService.getOrderSummaries(status, after, limit);
+
+        logger.info("[Order Controller] Successfully retrieved {} order summaries status={}", page.content().size(), status);
+
+        return new org.example.orderservice.dto.ApiResponse<>("Order summaries retrieved successfully",
+                page.content(), page.nextCursor());
+    }
+
+    @Operation(summary = "Get the number of orders in each status from in-memory counters")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status counts retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping("/stats/status-counts")
+    public org.example.orderservice.dto.ApiResponse<Map<OrderStatus, Long>> getStatusCounts() {
+        return new org.example.orderservice.dto.ApiResponse<>("Status counts retrieved successfully",
+                orderStatusCounters.snapshot());
+    }
+
+    @Operation(summary = "Export all orders, optionally filtered by status, as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid query parameter"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @Parameter(description = "Optional status filter")
+            @RequestParam(required = false) OrderStatus status) {
+
+        logger.info("[Order Controller] Exporting orders status={}", status);
 
-        logger.info("[Order Controller] Successfully retrieved {} orders status={}", responses.size(), status);
+        StreamingResponseBody body = outputStream -> {
+            long exported = orderService.exportOrders(status, order -> {
+                try {
+                    exportWriter.writeValue(outputStream, orderMapper.toGetOrderResponse(order));
+                    outputStream.write('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            outputStream.flush();
+            logger.info("[Order Controller] Successfully exported {} orders status={}", exported, status);
+        };
 
-        return new org.example.orderservice.dto.ApiResponse<>("All orders retrieved successfully", responses);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @Operation(summary = "Cancel an order by ID")
@@ -121,7 +453,7 @@ public class OrderController {
     @PatchMapping("/{orderId}/cancel")
     public org.example.orderservice.dto.ApiResponse<Void> cancelOrder(
             @Parameter(description = "Customer ID", required = true)
-            @RequestHeader("X-Customer-Id") String customerId,
+            @RequestHeader("X-Customer-Id") @Size(max = MAX_CUSTOMER_ID_LENGTH, message = CUSTOMER_ID_TOO_LONG) String customerId,
             @Parameter(description = "Order ID", required = true)
             @PathVariable Long orderId) {
         logger.info("Received request to cancel order with orderId={}", orderId);
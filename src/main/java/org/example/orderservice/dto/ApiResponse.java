@@ -10,5 +10,12 @@ public record ApiResponse<T>(
         String message,
 
         @Schema(description = "Response payload")
-        T data
-) {}
+        T data,
+
+        @Schema(description = "Opaque cursor for the next page, absent on the last page")
+        String nextCursor
+) {
+    public ApiResponse(String message, T data) {
+        this(message, data, null);
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.orderservice.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = false)
+@Schema(description = "Request payload to create several orders in one call")
+public record BatchCreateOrderRequest(
+        @NotEmpty(message = "Batch must contain at least one order")
+        @Size(max = 500, message = "Batch cannot contain more than 500 orders")
+        @Valid
+        @Schema(description = "Orders to create, in the order the results are returned", required = true)
+        List<CreateOrderRequest> orders
+) {
+}
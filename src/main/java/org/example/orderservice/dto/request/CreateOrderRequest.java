@@ -1,11 +1,16 @@
 package org.example.orderservice.dto.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotEmpty;
 
+import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @JsonIgnoreProperties(ignoreUnknown = false)
 @Schema(description = "Request payload to create a new order")
@@ -16,4 +21,50 @@ public record CreateOrderRequest(
         List<OrderItemRequest> items
 
 ) {
+
+    /**
+     * Largest value {@code orders.total_amount NUMERIC(19,2)} can store.
+     */
+    private static final BigDecimal MAX_TOTAL_AMOUNT = new BigDecimal("99999999999999999.99");
+
+    /**
+     * The order total must fit {@code orders.total_amount}; checked here so an oversized order is a
+     * 400 instead of failing the batched insert it is written with.
+     */
+    @JsonIgnore
+    @AssertTrue(message = "Order total must be at most 99999999999999999.99")
+    public boolean isTotalAmountInRange() {
+        if (!isComplete()) {
+            return true;
+        }
+        BigDecimal total = items.stream()
+                .map(item -> item.productPrice().multiply(BigDecimal.valueOf(item.productQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return total.compareTo(MAX_TOTAL_AMOUNT) <= 0;
+    }
+
+    /**
+     * Lines for the same product are merged into one, whose quantity must still fit
+     * {@code order_items.product_quantity INT}.
+     */
+    @JsonIgnore
+    @AssertTrue(message = "Total quantity of a product must be at most " + Integer.MAX_VALUE)
+    public boolean isProductQuantityInRange() {
+        if (!isComplete()) {
+            return true;
+        }
+        Map<Integer, Long> quantities = new HashMap<>();
+        for (OrderItemRequest item : items) {
+            if (quantities.merge(item.productId(), item.productQuantity().longValue(), Long::sum) > Integer.MAX_VALUE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Missing values are reported by the item constraints
+    private boolean isComplete() {
+        return items != null && items.stream().allMatch(item -> item != null
+                && item.productId() != null && item.productQuantity() != null && item.productPrice() != null);
+    }
 }
@@ -2,9 +2,11 @@ package org.example.orderservice.dto.request;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
 
@@ -14,6 +16,7 @@ import java.math.BigDecimal;
 public record OrderItemRequest(
         @NotNull(message = "Product name is required")
         @NotEmpty(message = "Product name is required")
+        @Size(max = 255, message = "Product name must be at most 255 characters")
         @Schema(description = "Product name", example = "Laptop", required = true)
         String productName,
 
@@ -29,6 +32,7 @@ public record OrderItemRequest(
 
         @NotNull(message = "Product price is required")
         @Positive(message = "Product price should be greater than zero")
+        @Digits(integer = 8, fraction = 2, message = "Product price must have at most 8 integer digits and 2 decimals")
         @Schema(description = "Price per product unit", example = "49999.99", required = true)
         BigDecimal productPrice
 
@@ -0,0 +1,13 @@
+package org.example.orderservice.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+@Schema(description = "Response returned when an order is accepted but not yet persisted")
+public record AcceptedOrderResponse(
+        @Schema(description = "Provisional ID, resolved to an order ID once the order is persisted",
+                example = "0b7e8f0c-6a53-4d7e-9f0a-3c1d2e4f5a6b")
+        UUID intakeId
+) {
+}
@@ -0,0 +1,33 @@
+package org.example.orderservice.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.example.orderservice.entities.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Built directly by a constructor-expression query in {@code OrderRepository}, so reading it
+ * creates no managed entities.
+ */
+@Schema(description = "Current state of an order that changed")
+public record OrderChangeResponse(
+        @Schema(description = "Order ID", example = "12345")
+        Long orderId,
+
+        @Schema(description = "Customer ID", example = "cust-001")
+        String customerId,
+
+        @Schema(description = "Order status")
+        OrderStatus status,
+
+        @Schema(description = "Total order amount", example = "99999.99")
+        BigDecimal totalAmount,
+
+        @Schema(description = "Order creation timestamp")
+        Instant createdAt,
+
+        @Schema(description = "Timestamp of the latest change")
+        Instant updatedAt
+) {
+}
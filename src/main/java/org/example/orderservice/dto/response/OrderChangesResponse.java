@@ -0,0 +1,18 @@
+package org.example.orderservice.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "One page of the order change feed")
+public record OrderChangesResponse(
+        @Schema(description = "Orders changed after the watermark, oldest change first")
+        List<OrderChangeResponse> changes,
+
+        @Schema(description = "Opaque watermark to pass as since on the next request, also when no changes were returned")
+        String watermark,
+
+        @Schema(description = "Whether more changes are available right away")
+        boolean hasMore
+) {
+}
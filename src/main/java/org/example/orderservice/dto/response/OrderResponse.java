@@ -1,5 +1,6 @@
 package org.example.orderservice.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.example.orderservice.entities.OrderStatus;
 
@@ -20,8 +21,14 @@ public record OrderResponse(
         @Schema(description = "Total order amount", example = "99999.99")
         BigDecimal totalAmount,
 
+        @Schema(description = "Number of distinct line items", example = "3")
+        int itemCount,
+
         @Schema(description = "Order creation timestamp")
         Instant createdAt,
+
+        @Schema(description = "Order items, omitted when the list was requested with includeItems=false")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
         List<OrderItemResponse> items
 
 
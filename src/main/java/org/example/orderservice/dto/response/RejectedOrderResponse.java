@@ -0,0 +1,18 @@
+package org.example.orderservice.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Schema(description = "Response returned for an accepted order that could not be persisted")
+public record RejectedOrderResponse(
+        @Schema(description = "Provisional ID returned when the order was accepted",
+                example = "0b7e8f0c-6a53-4d7e-9f0a-3c1d2e4f5a6b")
+        UUID intakeId,
+        @Schema(description = "Why the order was rejected")
+        String reason,
+        @Schema(description = "When the order was rejected")
+        Instant rejectedAt
+) {
+}
@@ -1,18 +1,22 @@
 package org.example.orderservice.entities;
 
 import jakarta.persistence.*;
+import org.example.orderservice.money.MoneySum;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Entity
 @Table(name = "orders")
 public class Order {
 
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_id_seq")
+    @SequenceGenerator(name = "orders_id_seq", sequenceName = "orders_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "customer_id")
@@ -26,18 +30,43 @@ public class Order {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items = new ArrayList<>();
 
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt = Instant.now();
 
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt = Instant.now();
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    /**
+     * productId -> line in {@link #items}, so merging a line is a hash lookup instead of a scan.
+     * Built on first use and dropped by {@link #setItems}; it is not persisted.
+     */
+    @Transient
+    private Map<Integer, OrderItem> itemsByProductId;
+
+    /**
+     * Running form of {@link #totalAmount} while items are being added; started from the
+     * stored total on first use.
+     */
+    @Transient
+    private MoneySum totalSum;
+
     public Long getId() {
         return id;
     }
 
     public Order(String customerId, List<OrderItem> items) {
         this.customerId = customerId;
-        this.items = items;
+        setItems(items);
     }
 
     public Order(String customerId) {
@@ -51,6 +80,15 @@ public class Order {
         this.id = id;
     }
 
+    /**
+     * Forgets the ids and version a rolled-back persist assigned, so the order can be persisted again.
+     */
+    public void resetIdentity() {
+        this.id = null;
+        this.version = 0;
+        items.forEach(item -> item.setId(null));
+    }
+
     public String getCustomerId() {
         return customerId;
     }
@@ -73,6 +111,19 @@ public class Order {
 
     public void setItems(List<OrderItem> items) {
         this.items = items;
+        this.itemsByProductId = null;
+        recalculateTotals();
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    /**
+     * Number of distinct line items; lines for the same product are merged by {@link #addItem}.
+     */
+    public int getItemCount() {
+        return itemCount;
     }
 
     public Instant getCreatedAt() {
@@ -83,22 +134,71 @@ public class Order {
         return updatedAt;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Keeps {@code updated_at} current for changes written through the entity; bulk updates in
+     * {@code OrderRepository} set it themselves.
+     */
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now();
+    }
+
+    /**
+     * Returns the stored total, kept in step with the items by {@link #addItem} and
+     * {@link #setItems}, so it never loads the item collection.
+     */
     public BigDecimal calculateTotalAmount() {
-        return items.stream()
-                .map(item -> item.getProductPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return totalAmount;
     }
 
     public void addItem(OrderItem item) {
-        item.setOrder(this);
-        this.items.stream()
-                .filter(existing -> existing.getProductId() == item.getProductId())
-                .findFirst()
-                .ifPresentOrElse(existing -> {
-                    existing.setQuantity(existing.getQuantity() + item.getQuantity());
-                }, () -> this.items.add(item));
+        mergeItem(item);
+        totalAmount = totalSum.toBigDecimal();
     }
+
     public void addItems(List<OrderItem> items) {
-        items.forEach(this::addItem);
+        items.forEach(this::mergeItem);
+        if (totalSum != null) {
+            totalAmount = totalSum.toBigDecimal();
+        }
+    }
+
+    private void mergeItem(OrderItem item) {
+        item.setOrder(this);
+        if (totalSum == null) {
+            totalSum = MoneySum.of(totalAmount);
+        }
+        OrderItem existing = itemIndex().putIfAbsent(item.getProductId(), item);
+        if (existing != null) {
+            existing.setQuantity(existing.getQuantity() + item.getQuantity());
+            existing.addAmountTo(totalSum, item.getQuantity());
+        } else {
+            this.items.add(item);
+            item.addAmountTo(totalSum, item.getQuantity());
+            itemCount++;
+        }
+    }
+
+    private Map<Integer, OrderItem> itemIndex() {
+        if (itemsByProductId == null) {
+            itemsByProductId = new HashMap<>();
+            for (OrderItem item : items) {
+                itemsByProductId.putIfAbsent(item.getProductId(), item);
+            }
+        }
+        return itemsByProductId;
+    }
+
+    private void recalculateTotals() {
+        totalSum = new MoneySum();
+        for (OrderItem item : items) {
+            item.addAmountTo(totalSum, item.getQuantity());
+        }
+        totalAmount = totalSum.toBigDecimal();
+        itemCount = items.size();
     }
 }
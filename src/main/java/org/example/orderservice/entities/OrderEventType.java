@@ -0,0 +1,6 @@
+package org.example.orderservice.entities;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    ORDER_STATUS_CHANGED
+}
@@ -1,6 +1,7 @@
 package org.example.orderservice.entities;
 
 import jakarta.persistence.*;
+import org.example.orderservice.money.MoneySum;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -10,7 +11,8 @@ import java.time.Instant;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_id_seq")
+    @SequenceGenerator(name = "order_items_id_seq", sequenceName = "order_items_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -36,6 +38,22 @@ public class OrderItem {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt = Instant.now();
 
+    /**
+     * {@link #productPrice} split into a long unscaled value and a scale, so order totals can
+     * be summed without allocating. Recomputed whenever {@link #productPrice} is replaced.
+     */
+    @Transient
+    private BigDecimal splitPrice;
+
+    @Transient
+    private long priceUnscaled;
+
+    @Transient
+    private int priceScale;
+
+    @Transient
+    private boolean priceFitsLong;
+
     public OrderItem(int productId, String productName, int quantity, BigDecimal productPrice) {
         this.productId = productId;
         this.productName = productName;
@@ -101,4 +119,23 @@ public class OrderItem {
     public Instant getUpdatedAt() {
         return updatedAt;
     }
+
+    /**
+     * Adds {@code productPrice * quantity} to {@code sum}.
+     */
+    void addAmountTo(MoneySum sum, int quantity) {
+        if (splitPrice != productPrice) {
+            splitPrice = productPrice;
+            priceFitsLong = productPrice.precision() <= 18;
+            if (priceFitsLong) {
+                priceUnscaled = productPrice.unscaledValue().longValue();
+                priceScale = productPrice.scale();
+            }
+        }
+        if (priceFitsLong) {
+            sum.addLine(priceUnscaled, priceScale, quantity);
+        } else {
+            sum.addLine(productPrice, quantity);
+        }
+    }
 }
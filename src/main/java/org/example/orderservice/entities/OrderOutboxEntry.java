@@ -0,0 +1,77 @@
+package org.example.orderservice.entities;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A row of {@code order_outbox}. Rows are inserted and marked published with native queries in
+ * {@link org.example.orderservice.repository.OrderOutboxRepository}; the entity is only read.
+ */
+@Entity
+@Table(name = "order_outbox")
+public class OrderOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "customer_id", nullable = false)
+    private String customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private OrderEventType eventType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status")
+    private OrderStatus previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    protected OrderOutboxEntry() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public OrderEventType getEventType() {
+        return eventType;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.orderservice.events;
+
+import org.example.orderservice.entities.OrderStatus;
+
+import java.util.List;
+
+/**
+ * Published inside the transaction that moved exactly {@code orderIds} from {@code from} to
+ * {@code to}.
+ */
+public record OrderStatusChangedEvent(List<Long> orderIds, OrderStatus from, OrderStatus to) {
+}
@@ -0,0 +1,10 @@
+package org.example.orderservice.events;
+
+import java.util.List;
+
+/**
+ * Published inside the creating transaction; listeners that act on committed data should use
+ * {@code @TransactionalEventListener} so they only see orders that were actually persisted.
+ */
+public record OrdersCreatedEvent(List<Long> orderIds) {
+}
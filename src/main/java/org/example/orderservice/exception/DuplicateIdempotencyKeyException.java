@@ -0,0 +1,7 @@
+package org.example.orderservice.exception;
+
+public class DuplicateIdempotencyKeyException extends RuntimeException {
+    public DuplicateIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.orderservice.exception;
+
+public class InvalidRequestParameterException extends RuntimeException {
+
+    private final String parameter;
+
+    public InvalidRequestParameterException(String parameter, String message) {
+        super(message);
+        this.parameter = parameter;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+}
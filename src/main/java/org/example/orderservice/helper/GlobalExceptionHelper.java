@@ -2,7 +2,9 @@ package org.example.orderservice.helper;
 
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import jakarta.validation.ConstraintViolationException;
 import org.example.orderservice.dto.ApiResponse;
+import org.example.orderservice.exception.InvalidRequestParameterException;
 import org.example.orderservice.exception.OrderCancellationException;
 import org.example.orderservice.exception.ResourceNotFoundException;
 import org.example.orderservice.exception.UnAuthorizedException;
@@ -11,10 +13,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
+import org.springframework.validation.method.ParameterErrors;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.HashMap;
@@ -43,6 +48,33 @@ public class GlobalExceptionHelper {
         return buildErrorResponse("Validation failed", errors, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiResponse<Map<String, String>> handleConstraintViolation(ConstraintViolationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getConstraintViolations().forEach(violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        logger.warn("[ValidationException] {}", errors);
+        return buildErrorResponse("Validation failed", errors, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiResponse<Map<String, String>> handleMethodValidation(HandlerMethodValidationException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getParameterValidationResults().forEach(result -> {
+            if (result instanceof ParameterErrors parameterErrors) {
+                parameterErrors.getFieldErrors().forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+            } else {
+                RequestHeader header = result.getMethodParameter().getParameterAnnotation(RequestHeader.class);
+                String name = header != null ? header.value() : result.getMethodParameter().getParameterName();
+                result.getResolvableErrors().forEach(error -> errors.put(name, error.getDefaultMessage()));
+            }
+        });
+        logger.warn("[ValidationException] {}", errors);
+        return buildErrorResponse("Validation failed", errors, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ApiResponse<Map<String, String>> handleResourceNotFound(ResourceNotFoundException ex) {
@@ -62,6 +94,15 @@ public class GlobalExceptionHelper {
         return buildErrorResponse("Invalid parameter", errors, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidRequestParameterException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiResponse<Map<String, String>> handleInvalidRequestParameter(InvalidRequestParameterException ex) {
+        Map<String, String> errors = new HashMap<>();
+        errors.put(ex.getParameter(), ex.getMessage());
+        logger.warn("[InvalidRequestParameterException] param={} message={}", ex.getParameter(), ex.getMessage());
+        return buildErrorResponse("Invalid parameter", errors, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(UnAuthorizedException.class)
     @ResponseStatus(HttpStatus.FORBIDDEN)
     public ApiResponse<Map<String, String>> handleUnAuthorizedException(UnAuthorizedException ex) {
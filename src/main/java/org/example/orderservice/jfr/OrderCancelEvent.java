@@ -0,0 +1,32 @@
+package org.example.orderservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One cancellation attempt and how it ended.
+ */
+@Name("org.example.orderservice.OrderCancel")
+@Label("Order Cancel")
+@Category({"Order Service", "Orders"})
+@Description("Order cancellation attempt and its outcome")
+@StackTrace(false)
+public class OrderCancelEvent extends Event {
+
+    public static final String CANCELLED = "CANCELLED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String UNAUTHORIZED = "UNAUTHORIZED";
+    public static final String CONCURRENTLY_MODIFIED = "CONCURRENTLY_MODIFIED";
+    public static final String NOT_PENDING = "NOT_PENDING";
+    public static final String FAILED = "FAILED";
+
+    @Label("Order Id")
+    public long orderId;
+
+    @Label("Outcome")
+    public String outcome;
+}
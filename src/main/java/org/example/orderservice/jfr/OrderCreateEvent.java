@@ -0,0 +1,43 @@
+package org.example.orderservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One create request, from mapping the request body to mapping the response. The event
+ * duration is the whole request; {@link #mappingTime} and {@link #dbTime} split it. A
+ * {@link #journaled} request only spans appending to the intake journal, and the order is
+ * written to the database later by the intake writer.
+ */
+@Name("org.example.orderservice.OrderCreate")
+@Label("Order Create")
+@Category({"Order Service", "Orders"})
+@Description("Order creation with mapping and persistence time")
+@StackTrace(false)
+public class OrderCreateEvent extends Event {
+
+    @Label("Orders")
+    public int orderCount;
+
+    @Label("Items")
+    @Description("Distinct line items across the created orders")
+    public int itemCount;
+
+    @Label("Mapping Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long mappingTime;
+
+    @Label("Database Time")
+    @Description("Time spent in the transactional service call, including commit")
+    @Timespan(Timespan.NANOSECONDS)
+    public long dbTime;
+
+    @Label("Journaled")
+    @Description("Accepted into the intake journal instead of written to the database")
+    public boolean journaled;
+}
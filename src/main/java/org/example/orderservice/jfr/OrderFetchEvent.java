@@ -0,0 +1,32 @@
+package org.example.orderservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One single-order lookup through the response cache and how it ended.
+ */
+@Name("org.example.orderservice.OrderFetch")
+@Label("Order Fetch")
+@Category({"Order Service", "Orders"})
+@Description("Single order lookup, its outcome and whether it was served from the response cache")
+@StackTrace(false)
+public class OrderFetchEvent extends Event {
+
+    public static final String FOUND = "FOUND";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String FAILED = "FAILED";
+
+    @Label("Order Id")
+    public long orderId;
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Outcome")
+    public String outcome;
+}
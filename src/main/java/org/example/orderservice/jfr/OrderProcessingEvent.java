@@ -0,0 +1,33 @@
+package org.example.orderservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One transaction moving PENDING orders to PROCESSING, either a sweeper chunk or a pipeline
+ * batch.
+ */
+@Name("org.example.orderservice.OrderProcessing")
+@Label("Order Processing")
+@Category({"Order Service", "Processing"})
+@Description("PENDING to PROCESSING transition of one chunk or batch")
+@StackTrace(false)
+public class OrderProcessingEvent extends Event {
+
+    public static final String SWEEP = "sweep";
+    public static final String PIPELINE = "pipeline";
+
+    @Label("Source")
+    public String source;
+
+    @Label("Requested")
+    @Description("Chunk size asked for, or number of queued ids in the batch")
+    public int requested;
+
+    @Label("Rows Updated")
+    public int rowsUpdated;
+}
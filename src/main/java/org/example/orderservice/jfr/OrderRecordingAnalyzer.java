@@ -0,0 +1,143 @@
+package org.example.orderservice.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summarises the order events of a {@code .jfr} recording into per-operation latency
+ * breakdowns. Needs nothing but the JDK, so it can run against a recording copied off a
+ * production host:
+ * <pre>
+ * java -cp target/classes org.example.orderservice.jfr.OrderRecordingAnalyzer recording.jfr
+ * </pre>
+ */
+public final class OrderRecordingAnalyzer {
+
+    private static final String CREATE = "org.example.orderservice.OrderCreate";
+    private static final String FETCH = "org.example.orderservice.OrderFetch";
+    private static final String CANCEL = "org.example.orderservice.OrderCancel";
+    private static final String PROCESSING = "org.example.orderservice.OrderProcessing";
+
+    private final Map<String, Samples> operations = new TreeMap<>();
+    private final Map<String, Long> processedRows = new TreeMap<>();
+
+    private OrderRecordingAnalyzer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: OrderRecordingAnalyzer <recording.jfr>");
+            System.exit(2);
+        }
+        System.out.print(summarize(Path.of(args[0])));
+    }
+
+    public static String summarize(Path recording) throws IOException {
+        if (!Files.isRegularFile(recording)) {
+            throw new IOException("Recording not found: " + recording);
+        }
+        OrderRecordingAnalyzer analyzer = new OrderRecordingAnalyzer();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                analyzer.accept(file.readEvent());
+            }
+        }
+        return analyzer.report();
+    }
+
+    private void accept(RecordedEvent event) {
+        long duration = event.getDuration().toNanos();
+        switch (event.getEventType().getName()) {
+            case CREATE -> {
+                if (event.getBoolean("journaled")) {
+                    samples("create  journaled").add(duration);
+                } else {
+                    samples("create").add(duration);
+                    samples("create  mapping").add(event.getLong("mappingTime"));
+                    samples("create  database").add(event.getLong("dbTime"));
+                }
+            }
+            case FETCH -> {
+                String outcome = event.getString("outcome");
+                if (outcome != null && !outcome.equals(OrderFetchEvent.FOUND)) {
+                    samples("fetch  " + outcome).add(duration);
+                } else {
+                    samples(event.getBoolean("cacheHit") ? "fetch  cache hit" : "fetch  cache miss").add(duration);
+                }
+            }
+            case CANCEL -> samples("cancel  " + event.getString("outcome")).add(duration);
+            case PROCESSING -> {
+                String operation = "processing  " + event.getString("source");
+                samples(operation).add(duration);
+                processedRows.merge(operation, (long) event.getInt("rowsUpdated"), Long::sum);
+            }
+            default -> {
+                // Not an order event
+            }
+        }
+    }
+
+    private Samples samples(String operation) {
+        return operations.computeIfAbsent(operation, key -> new Samples());
+    }
+
+    private String report() {
+        if (operations.isEmpty()) {
+            return "No order events in recording\n";
+        }
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-32s %8s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "mean ms", "p50 ms", "p90 ms", "p99 ms", "max ms", "rows"));
+        operations.forEach((operation, samples) -> {
+            long[] sorted = samples.sorted();
+            Long rows = processedRows.get(operation);
+            report.append(String.format("%-32s %8d %10.3f %10.3f %10.3f %10.3f %10.3f %10s%n",
+                    operation, sorted.length, millis(samples.mean()),
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.90)),
+                    millis(percentile(sorted, 0.99)), millis(sorted[sorted.length - 1]),
+                    rows == null ? "" : rows.toString()));
+        });
+        return report.toString();
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Samples {
+
+        private long[] values = new long[64];
+        private int size;
+        private long total;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+            total += value;
+        }
+
+        double mean() {
+            return (double) total / size;
+        }
+
+        long[] sorted() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
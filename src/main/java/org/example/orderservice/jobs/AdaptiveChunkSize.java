@@ -0,0 +1,36 @@
+package org.example.orderservice.jobs;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chunk size shared by all processor workers. It halves when a full chunk takes longer than the
+ * target latency and grows by a quarter when one finishes in under half of it, so a chunk's
+ * lock hold time and WAL volume stay bounded however large the backlog gets.
+ */
+class AdaptiveChunkSize {
+
+    private final int min;
+    private final int max;
+    private final long targetNanos;
+    private final AtomicInteger current;
+
+    AdaptiveChunkSize(int initial, int min, int max, long targetNanos) {
+        this.min = min;
+        this.max = max;
+        this.targetNanos = targetNanos;
+        this.current = new AtomicInteger(Math.max(min, Math.min(max, initial)));
+    }
+
+    int current() {
+        return current.get();
+    }
+
+    void record(int chunkSize, int claimed, long elapsedNanos) {
+        if (elapsedNanos > targetNanos) {
+            current.updateAndGet(size -> Math.max(min, size / 2));
+        } else if (claimed == chunkSize && elapsedNanos < targetNanos / 2) {
+            // Only full chunks say anything about headroom; a short chunk just drained the backlog
+            current.updateAndGet(size -> Math.min(max, size + Math.max(1, size / 4)));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.orderservice.jobs;
+
+import org.example.orderservice.configuration.OrderOutboxProperties;
+import org.example.orderservice.configuration.WorkerThreads;
+import org.example.orderservice.events.OrderStatusChangedEvent;
+import org.example.orderservice.events.OrdersCreatedEvent;
+import org.example.orderservice.metrics.OrderMetrics;
+import org.example.orderservice.outbox.OrderEvent;
+import org.example.orderservice.outbox.OrderEventPublisher;
+import org.example.orderservice.service.OrderOutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relays {@code order_outbox} to every {@link OrderEventPublisher} in ordered batches.
+ * <p>
+ * The relay is woken right after a local commit wrote events, and polls every
+ * {@code orders.outbox.poll-interval} for events committed by other instances or left behind
+ * by a failed publish. Batches are claimed with {@code SKIP LOCKED}, so relays on several
+ * instances share the work without publishing an event twice in the normal case.
+ */
+@Component
+public class OrderOutboxRelay implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderOutboxRelay.class);
+
+    private final OrderOutboxService outboxService;
+    private final List<OrderEventPublisher> publishers;
+    private final OrderOutboxProperties properties;
+    private final OrderMetrics orderMetrics;
+    private final WorkerThreads workerThreads;
+    private final Semaphore wakeUp = new Semaphore(0);
+    private volatile boolean running;
+    private Thread relay;
+
+    public OrderOutboxRelay(OrderOutboxService outboxService, List<OrderEventPublisher> publishers,
+                            OrderOutboxProperties properties, OrderMetrics orderMetrics,
+                            WorkerThreads workerThreads) {
+        this.outboxService = outboxService;
+        this.publishers = publishers;
+        this.properties = properties;
+        this.orderMetrics = orderMetrics;
+        this.workerThreads = workerThreads;
+    }
+
+    @TransactionalEventListener
+    public void onOrdersCreated(OrdersCreatedEvent event) {
+        signal();
+    }
+
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        signal();
+    }
+
+    private void signal() {
+        if (running && wakeUp.availablePermits() == 0) {
+            wakeUp.release();
+        }
+    }
+
+    /**
+     * Publishes one batch and returns how many events it held.
+     */
+    int relayOnce() {
+        List<OrderEvent> events = outboxService.relayBatch(properties.batchSize(), this::publish);
+        if (!events.isEmpty()) {
+            Instant now = Instant.now();
+            orderMetrics.recordOutboxBatch(events.size());
+            events.forEach(event -> orderMetrics.recordOutboxLag(Duration.between(event.occurredAt(), now)));
+        }
+        return events.size();
+    }
+
+    private void publish(List<OrderEvent> events) {
+        for (OrderEventPublisher publisher : publishers) {
+            publisher.publish(events);
+        }
+    }
+
+    private void relayLoop() {
+        while (running) {
+            try {
+                // A full batch means more are probably waiting
+                if (relayOnce() == properties.batchSize()) {
+                    continue;
+                }
+            } catch (RuntimeException ex) {
+                logger.error("[Order Outbox] Failed to relay events, retrying in {}", properties.pollInterval(), ex);
+            }
+            try {
+                wakeUp.tryAcquire(properties.pollInterval().toNanos(), TimeUnit.NANOSECONDS);
+                wakeUp.drainPermits();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            logger.info("[Order Outbox] Disabled, order events are not written or relayed");
+            return;
+        }
+        running = true;
+        relay = workerThreads.named("order-outbox-relay-").newThread(this::relayLoop);
+        relay.start();
+        logger.info("[Order Outbox] Relaying to {} publishers, batchSize={}", publishers.size(), properties.batchSize());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        relay.interrupt();
+        try {
+            relay.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.orderservice.jobs;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.orderservice.configuration.OrderPipelineProperties;
+import org.example.orderservice.configuration.WorkerThreads;
+import org.example.orderservice.events.OrdersCreatedEvent;
+import org.example.orderservice.jfr.OrderProcessingEvent;
+import org.example.orderservice.metrics.OrderMetrics;
+import org.example.orderservice.service.OrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves newly created orders to PROCESSING within milliseconds of their commit.
+ * <p>
+ * Ids are queued after commit into a bounded queue and drained in batches by a small pool of
+ * processors. Request threads never block on it: when the queue is full the id is simply left
+ * for {@link OrderProcessingScheduler}, which sweeps whatever the queue missed, including
+ * anything lost in a crash.
+ */
+@Component
+public class OrderProcessingPipeline implements SmartLifecycle, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderProcessingPipeline.class);
+
+    private final OrderService orderService;
+    private final OrderPipelineProperties properties;
+    private final OrderMetrics orderMetrics;
+    private final BlockingQueue<QueuedOrder> queue;
+    private final ThreadFactory threadFactory;
+    private final List<Thread> processors = new ArrayList<>();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running;
+
+    public OrderProcessingPipeline(OrderService orderService, OrderPipelineProperties properties,
+                                   OrderMetrics orderMetrics, WorkerThreads workerThreads) {
+        this.orderService = orderService;
+        this.threadFactory = workerThreads.named("order-pipeline-");
+        this.properties = properties;
+        this.orderMetrics = orderMetrics;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+    }
+
+    @TransactionalEventListener
+    public void onOrdersCreated(OrdersCreatedEvent event) {
+        if (!properties.enabled()) {
+            return;
+        }
+        long enqueuedAt = System.nanoTime();
+        for (Long orderId : event.orderIds()) {
+            if (!queue.offer(new QueuedOrder(orderId, enqueuedAt))) {
+                dropped.incrementAndGet();
+                logger.debug("[Order Pipeline] Queue full, leaving orderId={} for the sweeper", orderId);
+            }
+        }
+    }
+
+    public int queuedCount() {
+        return queue.size();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("orders.pipeline.queue.size", queue, BlockingQueue::size)
+                .description("Order ids waiting for a pipeline processor")
+                .register(registry);
+        FunctionCounter.builder("orders.pipeline.dropped", dropped, AtomicLong::get)
+                .description("Order ids left for the sweeper because the queue was full")
+                .register(registry);
+    }
+
+    private void processLoop() {
+        while (running) {
+            List<QueuedOrder> batch = new ArrayList<>(properties.maxBatchSize());
+            try {
+                QueuedOrder first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.maxBatchSize() - 1);
+                List<Long> orderIds = new ArrayList<>(batch.size());
+                for (QueuedOrder queued : batch) {
+                    orderIds.add(queued.orderId());
+                }
+                OrderProcessingEvent event = new OrderProcessingEvent();
+                event.begin();
+                int updated = orderService.transitionPendingOrders(orderIds);
+                event.source = OrderProcessingEvent.PIPELINE;
+                event.requested = orderIds.size();
+                event.rowsUpdated = updated;
+                event.commit();
+                long now = System.nanoTime();
+                orderMetrics.recordPipelineBatch(batch.size());
+                for (QueuedOrder queued : batch) {
+                    orderMetrics.recordPipelineLag(now - queued.enqueuedAt());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                logger.error("[Order Pipeline] Failed to process batch of {} orders, leaving them for the sweeper",
+                        batch.size(), ex);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            logger.info("[Order Pipeline] Disabled, pending orders are only picked up by the scheduled sweep");
+            return;
+        }
+        running = true;
+        for (int i = 0; i < properties.processors(); i++) {
+            Thread processor = threadFactory.newThread(this::processLoop);
+            processors.add(processor);
+            processor.start();
+        }
+        logger.info("[Order Pipeline] Started {} processors, queueCapacity={}", properties.processors(),
+                properties.queueCapacity());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread processor : processors) {
+            processor.interrupt();
+        }
+        for (Thread processor : processors) {
+            try {
+                processor.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        processors.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record QueuedOrder(long orderId, long enqueuedAt) {
+    }
+}
@@ -1,7 +1,5 @@
 package org.example.orderservice.jobs;
 
-import org.example.orderservice.entities.OrderStatus;
-import org.example.orderservice.service.OrderService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -13,18 +11,22 @@ import java.time.LocalDateTime;
 public class OrderProcessingScheduler {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderProcessingScheduler.class);
-    private final OrderService orderService;
+    private final PendingOrderProcessor pendingOrderProcessor;
 
-    public OrderProcessingScheduler(OrderService orderService){
-        this.orderService = orderService;
+    public OrderProcessingScheduler(PendingOrderProcessor pendingOrderProcessor){
+        this.pendingOrderProcessor = pendingOrderProcessor;
     }
 
-    @Scheduled(cron = "0 0/5 * * * *")
+    /**
+     * Sweeps PENDING orders that {@link OrderProcessingPipeline} did not pick up, e.g. because its
+     * queue was full, the pipeline is disabled, or the instance crashed before draining it.
+     */
+    @Scheduled(cron = "${orders.processing.sweep-cron:0 0/5 * * * *}")
     public void processPendingOrders() {
         logger.info("Scheduled Task: Starting processing of pending orders at {}", LocalDateTime.now());
 
         try {
-            int updatedCount = orderService.updateOrderStatus(OrderStatus.PENDING, OrderStatus.PROCESSING);
+            int updatedCount = pendingOrderProcessor.processBacklog();
             if (updatedCount > 0) {
                 logger.info("Scheduled Task: Successfully updated {} orders from PENDING to PROCESSING", updatedCount);
             } else {
@@ -0,0 +1,110 @@
+package org.example.orderservice.jobs;
+
+import org.example.orderservice.configuration.OrderProcessingProperties;
+import org.example.orderservice.configuration.WorkerThreads;
+import org.example.orderservice.jfr.OrderProcessingEvent;
+import org.example.orderservice.metrics.OrderMetrics;
+import org.example.orderservice.service.OrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Moves PENDING orders to PROCESSING in fixed-size chunks. Each chunk is claimed with
+ * {@code FOR UPDATE SKIP LOCKED} and committed on its own, so workers on this node and on
+ * other instances split the backlog between them instead of blocking on each other's rows.
+ */
+@Component
+public class PendingOrderProcessor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PendingOrderProcessor.class);
+
+    private final OrderService orderService;
+    private final OrderMetrics orderMetrics;
+    private final int workers;
+    private final AdaptiveChunkSize chunkSize;
+    private final ExecutorService executor;
+
+    public PendingOrderProcessor(OrderService orderService, OrderProcessingProperties properties,
+                                 OrderMetrics orderMetrics, WorkerThreads workerThreads) {
+        this.orderService = orderService;
+        this.orderMetrics = orderMetrics;
+        this.workers = properties.workers();
+        this.chunkSize = new AdaptiveChunkSize(properties.initialChunkSize(), properties.minChunkSize(),
+                properties.maxChunkSize(), properties.targetChunkLatency().toNanos());
+        this.executor = Executors.newFixedThreadPool(workers, workerThreads.named("order-processor-"));
+    }
+
+    /**
+     * Runs all workers until none of them can claim a full chunk and returns how many orders
+     * were moved to PROCESSING.
+     */
+    public int processBacklog() {
+        long start = System.nanoTime();
+        orderService.findOldestPendingCreatedAt()
+                .ifPresent(createdAt -> orderMetrics.recordSweepLag(Duration.between(createdAt, Instant.now())));
+
+        List<Future<Integer>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            futures.add(executor.submit(this::drain));
+        }
+
+        int processed = 0;
+        for (Future<Integer> future : futures) {
+            try {
+                processed += future.get();
+            } catch (ExecutionException ex) {
+                logger.error("[Order Processor] Worker failed while processing pending orders", ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        orderMetrics.recordSweep(System.nanoTime() - start);
+        return processed;
+    }
+
+    int currentChunkSize() {
+        return chunkSize.current();
+    }
+
+    private int drain() {
+        int processed = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            int size = chunkSize.current();
+            long start = System.nanoTime();
+            OrderProcessingEvent event = new OrderProcessingEvent();
+            event.begin();
+            int claimed = orderService.processPendingChunk(size).size();
+            event.source = OrderProcessingEvent.SWEEP;
+            event.requested = size;
+            event.rowsUpdated = claimed;
+            event.commit();
+            long elapsed = System.nanoTime() - start;
+            chunkSize.record(size, claimed, elapsed);
+            orderMetrics.recordProcessingChunk(claimed, elapsed);
+            processed += claimed;
+
+            logger.debug("[Order Processor] Processed chunk of {}/{} orders in {} ms", claimed, size, elapsed / 1_000_000);
+            if (claimed < size) {
+                break;
+            }
+        }
+        return processed;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.orderservice.journal;
+
+import org.example.orderservice.dto.request.CreateOrderRequest;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An order accepted into the journal and not necessarily persisted yet.
+ *
+ * @param intakeId   provisional id returned to the client
+ * @param customerId customer the order is placed for
+ * @param request    validated request body
+ * @param acceptedAt when the order was accepted
+ */
+public record JournaledOrder(
+        UUID intakeId,
+        String customerId,
+        CreateOrderRequest request,
+        Instant acceptedAt
+) {
+}
@@ -0,0 +1,375 @@
+package org.example.orderservice.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only log of accepted orders, kept in fixed-size memory-mapped segment files.
+ * <p>
+ * An append copies the record into the mapped segment, i.e. into the page cache, and returns
+ * its sequence number. One flusher thread forces everything appended so far to disk and wakes
+ * the appenders it covered, so appenders arriving during one fsync share the next one.
+ * {@link #awaitDurable(long)} is what makes an append durable.
+ * <p>
+ * Records are {@code length | crc32c | sequence | payload}. A torn record at the tail, left by a
+ * crash mid-append, is dropped on open. {@link #checkpoint(long)} records the last sequence
+ * persisted elsewhere; entries after it are returned by {@link #unpersisted()} when the journal
+ * is opened again, and segments wholly before it are deleted.
+ */
+public class OrderJournal implements Closeable {
+
+    static final int HEADER_SIZE = 16;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final LongConsumer syncListener;
+    private final FileChannel checkpointChannel;
+    private final List<Entry> unpersisted = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final Thread flusher;
+    private long lastSequence;
+    private long durableSequence;
+    private long checkpoint;
+    private IOException failure;
+    private boolean closed;
+
+    private OrderJournal(Path directory, int segmentSize, ThreadFactory threadFactory,
+                         LongConsumer syncListener) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncListener = syncListener;
+
+        Files.createDirectories(directory);
+        this.checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE), CREATE, READ, WRITE);
+        this.checkpoint = readCheckpoint();
+
+        List<Path> files = listSegments();
+        for (int i = 0; i < files.size(); i++) {
+            Segment segment = Segment.open(files.get(i));
+            recover(segment, i == files.size() - 1);
+            segments.addLast(segment);
+        }
+        this.lastSequence = segments.isEmpty() ? checkpoint : segments.getLast().lastSequence;
+        this.durableSequence = lastSequence;
+
+        this.flusher = threadFactory.newThread(this::flushLoop);
+        this.flusher.start();
+    }
+
+    /**
+     * Opens the journal in {@code directory}, creating it when missing, and starts its flusher.
+     */
+    public static OrderJournal open(Path directory, int segmentSize, ThreadFactory threadFactory,
+                                    LongConsumer syncListener) throws IOException {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size must be larger than " + HEADER_SIZE + " bytes");
+        }
+        return new OrderJournal(directory, segmentSize, threadFactory, syncListener);
+    }
+
+    /**
+     * Entries after the checkpoint found when the journal was opened, oldest first.
+     */
+    public List<Entry> unpersisted() {
+        return List.copyOf(unpersisted);
+    }
+
+    /**
+     * Appends {@code payload} and returns its sequence number. The entry is not durable until
+     * {@link #awaitDurable(long)} returns for it.
+     */
+    public long append(byte[] payload) throws IOException {
+        int recordSize = HEADER_SIZE + payload.length;
+        if (payload.length == 0 || recordSize > segmentSize) {
+            throw new IllegalArgumentException("Journal entries must hold 1 to " + (segmentSize - HEADER_SIZE) + " bytes");
+        }
+
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            if (failure != null) {
+                throw new IOException("Journal can no longer be synced", failure);
+            }
+            Segment segment = segments.peekLast();
+            if (segment == null || segment.position + recordSize > segment.buffer.capacity()) {
+                segment = roll();
+            }
+
+            long sequence = lastSequence + 1;
+            int position = segment.position;
+            MappedByteBuffer buffer = segment.buffer;
+            buffer.putLong(position + 8, sequence);
+            buffer.put(position + HEADER_SIZE, payload);
+            buffer.putInt(position + 4, checksum(buffer, position, payload.length));
+            buffer.putInt(position, payload.length);
+
+            segment.position += recordSize;
+            segment.lastSequence = sequence;
+            lastSequence = sequence;
+            appended.signal();
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until the entry with {@code sequence}, and every entry before it, is on disk.
+     */
+    public void awaitDurable(long sequence) throws IOException, InterruptedException {
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (failure != null) {
+                    throw new IOException("Journal could not be synced", failure);
+                }
+                synced.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records that every entry up to {@code sequence} is persisted elsewhere and deletes the
+     * segments that hold nothing newer.
+     */
+    public void checkpoint(long sequence) throws IOException {
+        checkpointChannel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence), 0);
+        checkpointChannel.force(false);
+
+        List<Segment> obsolete = new ArrayList<>();
+        lock.lock();
+        try {
+            checkpoint = Math.max(checkpoint, sequence);
+            long deletable = Math.min(checkpoint, durableSequence);
+            while (segments.size() > 1 && segments.getFirst().lastSequence <= deletable) {
+                obsolete.add(segments.removeFirst());
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Segment segment : obsolete) {
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+        }
+    }
+
+    /**
+     * Syncs whatever was appended, stops the flusher and releases the segment files.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        for (Segment segment : segments) {
+            segment.channel.close();
+        }
+        checkpointChannel.close();
+    }
+
+    private void flushLoop() {
+        while (true) {
+            long target;
+            List<Flush> flushes = new ArrayList<>();
+            lock.lock();
+            try {
+                while (!closed && lastSequence == durableSequence) {
+                    appended.awaitUninterruptibly();
+                }
+                if (lastSequence == durableSequence) {
+                    return;
+                }
+                target = lastSequence;
+                for (Segment segment : segments) {
+                    if (segment.position > segment.flushedPosition) {
+                        flushes.add(new Flush(segment, segment.flushedPosition, segment.position));
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            long start = System.nanoTime();
+            try {
+                for (Flush flush : flushes) {
+                    flush.segment().buffer.force(flush.from(), flush.to() - flush.from());
+                }
+            } catch (UncheckedIOException ex) {
+                lock.lock();
+                try {
+                    failure = ex.getCause();
+                    synced.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+            syncListener.accept(System.nanoTime() - start);
+
+            lock.lock();
+            try {
+                for (Flush flush : flushes) {
+                    flush.segment().flushedPosition = flush.to();
+                }
+                durableSequence = target;
+                synced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Segment roll() throws IOException {
+        long firstSequence = lastSequence + 1;
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path, CREATE_NEW, READ, WRITE);
+        Segment segment = new Segment(path, firstSequence, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        segments.addLast(segment);
+        return segment;
+    }
+
+    private void recover(Segment segment, boolean last) throws IOException {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        long expected = segment.firstSequence;
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_SIZE + length > buffer.capacity()
+                    || buffer.getLong(position + 8) != expected
+                    || buffer.getInt(position + 4) != checksum(buffer, position, length)) {
+                break;
+            }
+            if (expected > checkpoint) {
+                byte[] payload = new byte[length];
+                buffer.get(position + HEADER_SIZE, payload);
+                unpersisted.add(new Entry(expected, payload));
+            }
+            position += HEADER_SIZE + length;
+            expected++;
+        }
+        segment.position = position;
+        segment.flushedPosition = position;
+        segment.lastSequence = expected - 1;
+
+        if (hasData(buffer, position)) {
+            if (!last) {
+                throw new IOException("Journal segment " + segment.path + " is corrupt at offset " + position);
+            }
+            // Torn append at the tail; clear it so that it cannot be mistaken for a record later
+            for (int i = position; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force();
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        int read = checkpointChannel.read(buffer, 0);
+        return read == Long.BYTES ? buffer.getLong(0) : 0;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static boolean hasData(MappedByteBuffer buffer, int from) {
+        for (int i = from; i < buffer.capacity(); i++) {
+            if (buffer.get(i) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int checksum(MappedByteBuffer buffer, int position, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position + 8, 8 + length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * A journaled payload and its sequence number.
+     */
+    public record Entry(long sequence, byte[] payload) {
+    }
+
+    private record Flush(Segment segment, int from, int to) {
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+        private final long firstSequence;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int position;
+        private int flushedPosition;
+        private long lastSequence;
+
+        private Segment(Path path, long firstSequence, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.firstSequence = firstSequence;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.lastSequence = firstSequence - 1;
+        }
+
+        private static Segment open(Path path) throws IOException {
+            String name = path.getFileName().toString();
+            long firstSequence = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            FileChannel channel = FileChannel.open(path, READ, WRITE);
+            return new Segment(path, firstSequence, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.orderservice.journal;
+
+import java.time.Instant;
+
+/**
+ * A journaled order the database kept rejecting, set aside so the journal could move past it.
+ *
+ * @param order    the order as it was journaled
+ * @param reason   why the database rejected it
+ * @param parkedAt when it was set aside
+ */
+public record ParkedOrder(
+        JournaledOrder order,
+        String reason,
+        Instant parkedAt
+) {
+}
@@ -53,9 +53,25 @@ public class OrderMapper {
                 order.getId(),
                 order.getCustomerId(),
                 order.getStatus(),
-                order.calculateTotalAmount(),
+                order.getTotalAmount(),
+                order.getItemCount(),
                 order.getCreatedAt(),
                 items
         );
     }
+
+    /**
+     * Maps only the columns stored on {@code orders}, leaving the item collection unloaded.
+     */
+    public OrderResponse toOrderTotalsResponse(Order order) {
+        return new OrderResponse(
+                order.getId(),
+                order.getCustomerId(),
+                order.getStatus(),
+                order.getTotalAmount(),
+                order.getItemCount(),
+                order.getCreatedAt(),
+                null
+        );
+    }
 }
@@ -0,0 +1,148 @@
+package org.example.orderservice.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Domain meters of the order service, all named {@code orders.*}. Request, repository and
+ * connection-pool timings come from Spring Boot's own instrumentation
+ * ({@code http.server.requests}, {@code spring.data.repository.invocations},
+ * {@code hikaricp.connections.acquire}); percentile histograms for all of them are switched on
+ * in application.properties.
+ */
+@Component
+public class OrderMetrics {
+
+    private final DistributionSummary itemsPerOrder;
+    private final DistributionSummary processingChunkSize;
+    private final Timer processingChunkDuration;
+    private final Timer sweepDuration;
+    private final Timer sweepLag;
+    private final DistributionSummary pipelineBatchSize;
+    private final Timer pipelineLag;
+    private final DistributionSummary groupCommitBatchSize;
+    private final Timer groupCommitWait;
+    private final Timer journalSync;
+    private final DistributionSummary journalDrainBatchSize;
+    private final Timer journalPersistLag;
+    private final Counter journalParked;
+    private final DistributionSummary outboxBatchSize;
+    private final Timer outboxLag;
+
+    public OrderMetrics(MeterRegistry registry) {
+        this.itemsPerOrder = DistributionSummary.builder("orders.created.items")
+                .description("Distinct line items per created order")
+                .baseUnit("items")
+                .register(registry);
+        this.processingChunkSize = DistributionSummary.builder("orders.processing.chunk.size")
+                .description("Orders claimed per SKIP LOCKED chunk")
+                .baseUnit("orders")
+                .register(registry);
+        this.processingChunkDuration = Timer.builder("orders.processing.chunk.duration")
+                .description("Time to claim and transition one chunk of pending orders")
+                .register(registry);
+        this.sweepDuration = Timer.builder("orders.processing.sweep.duration")
+                .description("Time for one scheduled sweep to drain the pending backlog")
+                .register(registry);
+        this.sweepLag = Timer.builder("orders.processing.sweep.lag")
+                .description("Age of the oldest pending order when a sweep starts")
+                .register(registry);
+        this.pipelineBatchSize = DistributionSummary.builder("orders.pipeline.batch.size")
+                .description("Orders transitioned per pipeline batch")
+                .baseUnit("orders")
+                .register(registry);
+        this.pipelineLag = Timer.builder("orders.pipeline.lag")
+                .description("Time from commit of a new order until the pipeline transitions it")
+                .register(registry);
+        this.groupCommitBatchSize = DistributionSummary.builder("orders.group-commit.batch.size")
+                .description("Orders created per group-commit transaction")
+                .baseUnit("orders")
+                .register(registry);
+        this.groupCommitWait = Timer.builder("orders.group-commit.wait")
+                .description("Time a create waited in the group-commit queue before its transaction started")
+                .register(registry);
+        this.journalSync = Timer.builder("orders.journal.sync.duration")
+                .description("Time to force one group of journal appends to disk")
+                .register(registry);
+        this.journalDrainBatchSize = DistributionSummary.builder("orders.journal.drain.batch.size")
+                .description("Journaled orders persisted per drainer transaction")
+                .baseUnit("orders")
+                .register(registry);
+        this.journalPersistLag = Timer.builder("orders.journal.persist.lag")
+                .description("Time from acceptance of a journaled order until it is persisted")
+                .register(registry);
+        this.journalParked = Counter.builder("orders.journal.parked")
+                .description("Journaled orders the database kept rejecting, set aside instead of persisted")
+                .register(registry);
+        this.outboxBatchSize = DistributionSummary.builder("orders.outbox.batch.size")
+                .description("Order events published per relay transaction")
+                .baseUnit("events")
+                .register(registry);
+        this.outboxLag = Timer.builder("orders.outbox.lag")
+                .description("Time from writing an order event until it is published")
+                .register(registry);
+    }
+
+    public void recordCreatedOrder(int itemCount) {
+        itemsPerOrder.record(itemCount);
+    }
+
+    public void recordProcessingChunk(int claimed, long elapsedNanos) {
+        processingChunkSize.record(claimed);
+        processingChunkDuration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSweep(long elapsedNanos) {
+        sweepDuration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSweepLag(Duration oldestPendingAge) {
+        sweepLag.record(oldestPendingAge);
+    }
+
+    public void recordPipelineBatch(int size) {
+        pipelineBatchSize.record(size);
+    }
+
+    public void recordPipelineLag(long lagNanos) {
+        pipelineLag.record(lagNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordGroupCommitBatch(int size) {
+        groupCommitBatchSize.record(size);
+    }
+
+    public void recordGroupCommitWait(long waitNanos) {
+        groupCommitWait.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordJournalSync(long durationNanos) {
+        journalSync.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordJournalDrain(int size) {
+        journalDrainBatchSize.record(size);
+    }
+
+    public void recordJournalPersistLag(Duration lag) {
+        journalPersistLag.record(lag);
+    }
+
+    public void recordJournalParked() {
+        journalParked.increment();
+    }
+
+    public void recordOutboxBatch(int size) {
+        outboxBatchSize.record(size);
+    }
+
+    public void recordOutboxLag(Duration lag) {
+        outboxLag.record(lag);
+    }
+}
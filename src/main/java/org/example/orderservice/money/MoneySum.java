@@ -0,0 +1,99 @@
+package org.example.orderservice.money;
+
+import java.math.BigDecimal;
+
+/**
+ * Running sum of {@code price * quantity} lines kept as a {@code long} unscaled value and a
+ * scale, so adding a line allocates nothing.
+ * <p>
+ * The result is identical, value and scale, to
+ * {@code lines.reduce(BigDecimal.ZERO, (sum, line) -> sum.add(price.multiply(BigDecimal.valueOf(quantity))))}:
+ * the scale is the largest price scale seen (at least 0). Any step that would overflow a
+ * {@code long} switches the sum to {@link BigDecimal} for good.
+ */
+public final class MoneySum {
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+            10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    private long unscaled;
+    private int scale;
+    private BigDecimal overflow;
+
+    public MoneySum() {
+    }
+
+    /**
+     * Starts from an existing total, e.g. the one stored on an order.
+     */
+    public static MoneySum of(BigDecimal amount) {
+        MoneySum sum = new MoneySum();
+        sum.overflow = BigDecimal.ZERO.add(amount);
+        return sum.tryCompact();
+    }
+
+    /**
+     * Adds {@code unitPrice * quantity}, where {@code unitPrice} is {@code unitUnscaled * 10^-unitScale}.
+     */
+    public void addLine(long unitUnscaled, int unitScale, int quantity) {
+        if (overflow == null) {
+            try {
+                long line = Math.multiplyExact(unitUnscaled, (long) quantity);
+                int lineScale = unitScale;
+                if (lineScale < 0) {
+                    line = Math.multiplyExact(line, powerOfTen(-lineScale));
+                    lineScale = 0;
+                }
+                if (lineScale > scale) {
+                    unscaled = Math.multiplyExact(unscaled, powerOfTen(lineScale - scale));
+                    scale = lineScale;
+                } else if (lineScale < scale) {
+                    line = Math.multiplyExact(line, powerOfTen(scale - lineScale));
+                }
+                unscaled = Math.addExact(unscaled, line);
+                return;
+            } catch (ArithmeticException ex) {
+                overflow = toBigDecimal();
+            }
+        }
+        overflow = overflow.add(BigDecimal.valueOf(unitUnscaled, unitScale).multiply(BigDecimal.valueOf(quantity)));
+    }
+
+    /**
+     * Adds {@code unitPrice * quantity} for a price whose unscaled value may not fit a {@code long}.
+     */
+    public void addLine(BigDecimal unitPrice, int quantity) {
+        if (unitPrice.precision() <= 18) {
+            addLine(unitPrice.unscaledValue().longValue(), unitPrice.scale(), quantity);
+            return;
+        }
+        if (overflow == null) {
+            overflow = toBigDecimal();
+        }
+        overflow = overflow.add(unitPrice.multiply(BigDecimal.valueOf(quantity)));
+    }
+
+    public BigDecimal toBigDecimal() {
+        return overflow != null ? overflow : BigDecimal.valueOf(unscaled, scale);
+    }
+
+    private MoneySum tryCompact() {
+        if (overflow.precision() <= 18 && overflow.scale() >= 0) {
+            unscaled = overflow.unscaledValue().longValue();
+            scale = overflow.scale();
+            overflow = null;
+        }
+        return this;
+    }
+
+    private static long powerOfTen(int exponent) {
+        if (exponent >= POWERS_OF_TEN.length) {
+            throw new ArithmeticException("10^" + exponent + " does not fit a long");
+        }
+        return POWERS_OF_TEN[exponent];
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.orderservice.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.orderservice.configuration.OrderOutboxProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stand-in publisher for local use: appends each event as one JSON line to a file, which a
+ * consumer under development can tail.
+ */
+@Component
+@ConditionalOnProperty(prefix = "orders.outbox", name = "publisher", havingValue = "file")
+public class FileOrderEventPublisher implements OrderEventPublisher {
+
+    private final Path file;
+    private final ObjectWriter writer;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public FileOrderEventPublisher(OrderOutboxProperties properties, ObjectMapper objectMapper) {
+        this.file = properties.file();
+        this.writer = objectMapper.writerFor(OrderEvent.class);
+    }
+
+    @Override
+    public void publish(List<OrderEvent> events) {
+        lock.lock();
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OrderEvent event : events) {
+                out.write(writer.writeValueAsString(event));
+                out.write('\n');
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to append order events to " + file, ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.orderservice.outbox;
+
+import org.example.orderservice.configuration.OrderOutboxProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Stand-in publisher for local use and tests: keeps the most recent events in memory.
+ */
+@Component
+@ConditionalOnProperty(prefix = "orders.outbox", name = "publisher", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOrderEventPublisher implements OrderEventPublisher {
+
+    private final int capacity;
+    private final Deque<OrderEvent> events = new ArrayDeque<>();
+
+    public InMemoryOrderEventPublisher(OrderOutboxProperties properties) {
+        this.capacity = properties.memoryCapacity();
+    }
+
+    @Override
+    public synchronized void publish(List<OrderEvent> batch) {
+        for (OrderEvent event : batch) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    /**
+     * The retained events, oldest first.
+     */
+    public synchronized List<OrderEvent> recentEvents() {
+        return new ArrayList<>(events);
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.orderservice.outbox;
+
+import org.example.orderservice.entities.OrderEventType;
+import org.example.orderservice.entities.OrderOutboxEntry;
+import org.example.orderservice.entities.OrderStatus;
+
+import java.time.Instant;
+
+/**
+ * An order event as handed to {@link OrderEventPublisher}s.
+ *
+ * @param id             outbox id; ascending within a relay batch
+ * @param orderId        order the event is about
+ * @param customerId     customer the order belongs to
+ * @param type           created or status changed
+ * @param previousStatus status before the change, absent for created orders
+ * @param status         status after the change
+ * @param occurredAt     when the change was written
+ */
+public record OrderEvent(
+        long id,
+        long orderId,
+        String customerId,
+        OrderEventType type,
+        OrderStatus previousStatus,
+        OrderStatus status,
+        Instant occurredAt
+) {
+
+    public static OrderEvent of(OrderOutboxEntry entry) {
+        return new OrderEvent(entry.getId(), entry.getOrderId(), entry.getCustomerId(), entry.getEventType(),
+                entry.getPreviousStatus(), entry.getStatus(), entry.getCreatedAt());
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.orderservice.outbox;
+
+import java.util.List;
+
+/**
+ * Delivers relayed order events to a downstream system. Implementations are picked up as beans;
+ * every publisher receives every batch.
+ * <p>
+ * A batch is marked published only if every publisher returns normally. Throwing leaves it in
+ * the outbox to be relayed again, so delivery is at least once and consumers should de-duplicate
+ * on {@link OrderEvent#id()}.
+ */
+public interface OrderEventPublisher {
+
+    void publish(List<OrderEvent> events);
+}
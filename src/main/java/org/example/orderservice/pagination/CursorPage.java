@@ -0,0 +1,26 @@
+package org.example.orderservice.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One keyset page. {@code nextCursor} is {@code null} on the last page.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor) {
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code limit + 1}; the extra row only
+     * signals that another page exists and is never returned.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, OrderCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, limit);
+        return new CursorPage<>(content, cursorOf.apply(content.get(limit - 1)).encode());
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.orderservice.pagination;
+
+import org.example.orderservice.exception.InvalidRequestParameterException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position over {@code (created_at, id)} for order pages, or {@code (updated_at, id)} for
+ * the change feed. Clients only ever see the opaque, URL-safe encoded form.
+ */
+public record OrderCursor(Instant timestamp, Long id) {
+
+    private static final String SEPARATOR = ":";
+
+    public String encode() {
+        String raw = timestamp.getEpochSecond() + SEPARATOR + timestamp.getNano() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String parameter, String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Unexpected cursor format");
+            }
+            Instant timestamp = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new OrderCursor(timestamp, Long.parseLong(parts[2]));
+        } catch (RuntimeException ex) {
+            throw new InvalidRequestParameterException(parameter, "Invalid cursor. Please use the nextCursor returned by a previous page.");
+        }
+    }
+}
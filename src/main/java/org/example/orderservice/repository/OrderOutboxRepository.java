@@ -0,0 +1,65 @@
+package org.example.orderservice.repository;
+
+import org.example.orderservice.entities.OrderOutboxEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEntry, Long> {
+
+    /**
+     * Writes one event per order in {@code orderIds}, reading the customer and the order's
+     * current state from {@code orders}, so a bulk transition costs one statement. Pending
+     * entity changes are flushed first so that orders created in this transaction are found.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO order_outbox (order_id, customer_id, event_type, previous_status, status)
+            SELECT o.id, o.customer_id, :eventType, CAST(:previousStatus AS VARCHAR), :status
+            FROM orders o
+            WHERE o.id IN (:orderIds)
+            ORDER BY o.id""", nativeQuery = true)
+    int insertEvents(@Param("orderIds") List<Long> orderIds,
+                     @Param("eventType") String eventType,
+                     @Param("previousStatus") String previousStatus,
+                     @Param("status") String status);
+
+    /**
+     * Locks up to {@code limit} of the oldest unpublished events, skipping rows another relay
+     * holds, so relays on several instances publish disjoint batches.
+     */
+    @Query(value = """
+            SELECT * FROM order_outbox
+            WHERE published_at IS NULL
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED""", nativeQuery = true)
+    List<OrderOutboxEntry> claimUnpublished(@Param("limit") int limit);
+
+    /**
+     * Events of one customer after {@code afterId}, relayed or not, oldest first; serves resuming
+     * an event stream from its last event id.
+     */
+    @Query("""
+            select e from OrderOutboxEntry e
+            where e.customerId = :customerId and e.id > :afterId
+            order by e.id""")
+    List<OrderOutboxEntry> findAfter(@Param("customerId") String customerId,
+                                     @Param("afterId") Long afterId,
+                                     Limit limit);
+
+    @Modifying
+    @Query(value = "UPDATE order_outbox SET published_at = :publishedAt WHERE id IN (:ids)", nativeQuery = true)
+    int markPublished(@Param("ids") List<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_outbox WHERE published_at < :cutoff", nativeQuery = true)
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+}
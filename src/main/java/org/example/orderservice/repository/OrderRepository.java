@@ -1,24 +1,220 @@
 package org.example.orderservice.repository;
 
 
+import jakarta.persistence.QueryHint;
+import org.example.orderservice.dto.response.OrderChangeResponse;
+import org.example.orderservice.dto.response.OrderSummaryResponse;
 import org.example.orderservice.entities.Order;
 import org.example.orderservice.entities.OrderStatus;
+import org.example.orderservice.stats.OrderStatusCount;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    /**
+     * Locks up to {@code limit} of the oldest PENDING orders, skipping rows already locked by
+     * another transaction, so concurrent workers never wait on or double-claim each other's rows.
+     */
+    @Query(value = """
+            SELECT id FROM orders
+            WHERE status = 'PENDING'
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED""", nativeQuery = true)
+    List<Long> claimPendingOrderIds(@Param("limit") int limit);
+
+    /**
+     * Locks those of {@code ids} that are still PENDING, skipping rows another transaction is
+     * already working on.
+     */
+    @Query(value = """
+            SELECT id FROM orders
+            WHERE id IN (:ids) AND status = 'PENDING'
+            ORDER BY id
+            FOR UPDATE SKIP LOCKED""", nativeQuery = true)
+    List<Long> claimPendingOrderIdsIn(@Param("ids") List<Long> ids);
+
+    @Query("select min(o.createdAt) from Order o where o.status = :status")
+    Optional<Instant> findOldestCreatedAtByStatus(@Param("status") OrderStatus status);
+
+    @Query("""
+            select new org.example.orderservice.stats.OrderStatusCount(o.status, count(o))
+            from Order o
+            group by o.status""")
+    List<OrderStatusCount> countGroupByStatus();
+
     @Modifying
-    @Query("update Order o set o.status = :newStatus where o.status = :currentStatus")
-    int updateStatus(@Param("currentStatus") OrderStatus currentStatus,
+    @Query("""
+            update Order o set o.status = :newStatus, o.version = o.version + 1, o.updatedAt = instant
+            where o.id in :ids and o.status = :currentStatus""")
+    int updateStatusByIds(@Param("ids") List<Long> ids,
+                          @Param("currentStatus") OrderStatus currentStatus,
                           @Param("newStatus") OrderStatus newStatus);
 
+    /**
+     * Cancels the order in a single statement, only if it belongs to the customer and is still
+     * PENDING. Returns 0 when any of those conditions does not hold.
+     */
+    @Modifying
+    @Query("""
+            update Order o
+            set o.status = org.example.orderservice.entities.OrderStatus.CANCELLED, o.version = o.version + 1,
+                o.updatedAt = instant
+            where o.id = :id
+              and o.customerId = :customerId
+              and o.status = org.example.orderservice.entities.OrderStatus.PENDING""")
+    int cancelIfPending(@Param("id") Long id, @Param("customerId") String customerId);
+
+    @EntityGraph(attributePaths = "items")
+    Optional<Order> findWithItemsById(Long id);
+
+    @EntityGraph(attributePaths = "items")
     List<Order> findOrderByStatus(OrderStatus status);
-}
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from Order o order by o.id")
+    Stream<Order> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from Order o where o.status = :status order by o.id")
+    Stream<Order> streamByStatus(@Param("status") OrderStatus status);
+
+    @Query("select o from Order o order by o.createdAt desc, o.id desc")
+    List<Order> findFirstPage(Limit limit);
+
+    @Query("""
+            select o from Order o
+            where o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id)
+            order by o.createdAt desc, o.id desc""")
+    List<Order> findPageAfter(@Param("createdAt") Instant createdAt,
+                              @Param("id") Long id,
+                              Limit limit);
+
+    @Query("select o from Order o where o.status = :status order by o.createdAt desc, o.id desc")
+    List<Order> findFirstPageByStatus(@Param("status") OrderStatus status, Limit limit);
+
+    @Query("""
+            select o from Order o
+            where o.status = :status
+              and (o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id))
+            order by o.createdAt desc, o.id desc""")
+    List<Order> findPageByStatusAfter(@Param("status") OrderStatus status,
+                                      @Param("createdAt") Instant createdAt,
+                                      @Param("id") Long id,
+                                      Limit limit);
+
+    @Query("select o from Order o where o.customerId = :customerId order by o.createdAt desc, o.id desc")
+    List<Order> findFirstPageByCustomer(@Param("customerId") String customerId, Limit limit);
+
+    @Query("""
+            select o from Order o
+            where o.customerId = :customerId
+              and (o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id))
+            order by o.createdAt desc, o.id desc""")
+    List<Order> findPageByCustomerAfter(@Param("customerId") String customerId,
+                                        @Param("createdAt") Instant createdAt,
+                                        @Param("id") Long id,
+                                        Limit limit);
+
+    @Query("""
+            select new org.example.orderservice.dto.response.OrderSummaryResponse(
+                o.id, o.customerId, o.status, o.totalAmount, o.createdAt)
+            from Order o
+            order by o.createdAt desc, o.id desc""")
+    List<OrderSummaryResponse> findFirstSummaryPage(Limit limit);
+
+    @Query("""
+            select new org.example.orderservice.dto.response.OrderSummaryResponse(
+                o.id, o.customerId, o.status, o.totalAmount, o.createdAt)
+            from Order o
+            where o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id)
+            order by o.createdAt desc, o.id desc""")
+    List<OrderSummaryResponse> findSummaryPageAfter(@Param("createdAt") Instant createdAt,
+                                                    @Param("id") Long id,
+                                                    Limit limit);
+
+    @Query("""
+            select new org.example.orderservice.dto.response.OrderSummaryResponse(
+                o.id, o.customerId, o.status, o.totalAmount, o.createdAt)
+            from Order o
+            where o.status = :status
+            order by o.createdAt desc, o.id desc""")
+    List<OrderSummaryResponse> findFirstSummaryPageByStatus(@Param("status") OrderStatus status, Limit limit);
+
+    @Query("""
+            select new org.example.orderservice.dto.response.OrderSummaryResponse(
+                o.id, o.customerId, o.status, o.totalAmount, o.createdAt)
+            from Order o
+            where o.status = :status
+              and (o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id))
+            order by o.createdAt desc, o.id desc""")
+    List<OrderSummaryResponse> findSummaryPageByStatusAfter(@Param("status") OrderStatus status,
+                                                            @Param("createdAt") Instant createdAt,
+                                                            @Param("id") Long id,
+                                                            Limit limit);
+
+    /**
+     * Orders changed after the keyset position {@code (updatedAt, id)} and no later than
+     * {@code until}, oldest change first.
+     */
+    @Query("""
+            select new org.example.orderservice.dto.response.OrderChangeResponse(
+                o.id, o.customerId, o.status, o.totalAmount, o.createdAt, o.updatedAt)
+            from Order o
+            where (o.updatedAt > :updatedAt or (o.updatedAt = :updatedAt and o.id > :id))
+              and o.updatedAt <= :until
+            order by o.updatedAt, o.id""")
+    List<OrderChangeResponse> findChangesAfter(@Param("updatedAt") Instant updatedAt,
+                                               @Param("id") Long id,
+                                               @Param("until") Instant until,
+                                               Limit limit);
+
+    /**
+     * Records the order created for an Idempotency-Key, taking over a row of the same key created
+     * before {@code notBefore} that the purge has not removed yet. Returns 0 when the key is
+     * taken; if another open transaction holds it, this waits for that one to finish first.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO order_idempotency_keys (customer_id, idempotency_key, order_id)
+            VALUES (:customerId, :idempotencyKey, :orderId)
+            ON CONFLICT (customer_id, idempotency_key) DO UPDATE
+                SET order_id = EXCLUDED.order_id, created_at = NOW()
+                WHERE order_idempotency_keys.created_at < :notBefore""", nativeQuery = true)
+    int insertIdempotencyKey(@Param("customerId") String customerId,
+                             @Param("idempotencyKey") String idempotencyKey,
+                             @Param("orderId") Long orderId,
+                             @Param("notBefore") Instant notBefore);
+
+    @Query(value = """
+            SELECT order_id FROM order_idempotency_keys
+            WHERE customer_id = :customerId AND idempotency_key = :idempotencyKey AND created_at >= :notBefore""",
+            nativeQuery = true)
+    Optional<Long> findOrderIdByIdempotencyKey(@Param("customerId") String customerId,
+                                               @Param("idempotencyKey") String idempotencyKey,
+                                               @Param("notBefore") Instant notBefore);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_idempotency_keys WHERE created_at < :cutoff", nativeQuery = true)
+    int deleteIdempotencyKeysCreatedBefore(@Param("cutoff") Instant cutoff);
+}
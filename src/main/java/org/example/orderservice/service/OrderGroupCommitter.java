@@ -0,0 +1,213 @@
+package org.example.orderservice.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.orderservice.configuration.OrderGroupCommitProperties;
+import org.example.orderservice.configuration.WorkerThreads;
+import org.example.orderservice.entities.Order;
+import org.example.orderservice.exception.DuplicateIdempotencyKeyException;
+import org.example.orderservice.metrics.OrderMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional write coalescing for single-order creates. With {@code orders.group-commit.enabled},
+ * callers hand their order to a queue and wait; committer threads collect whatever arrives
+ * within {@code max-wait} (up to {@code max-batch-size} orders) and create it in one
+ * transaction through {@link OrderService#createOrderGroup}, so concurrent requests share one
+ * commit and multi-row inserts. Each caller still gets its own order back, or its own error:
+ * when the group transaction fails, its orders are created again one transaction each.
+ * <p>
+ * Disabled, or with the queue full, a create runs in its own transaction as before.
+ */
+@Service
+public class OrderGroupCommitter implements SmartLifecycle, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderGroupCommitter.class);
+
+    private final OrderService orderService;
+    private final OrderGroupCommitProperties properties;
+    private final OrderMetrics orderMetrics;
+    private final BlockingQueue<PendingCreate> queue;
+    private final ThreadFactory threadFactory;
+    private final List<Thread> committers = new ArrayList<>();
+    private volatile boolean running;
+
+    public OrderGroupCommitter(OrderService orderService, OrderGroupCommitProperties properties,
+                               OrderMetrics orderMetrics, WorkerThreads workerThreads) {
+        this.orderService = orderService;
+        this.properties = properties;
+        this.orderMetrics = orderMetrics;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.threadFactory = workerThreads.named("order-group-commit-");
+    }
+
+    public Order createOrder(Order order, String idempotencyKey) {
+        if (!running) {
+            return orderService.createOrder(order, idempotencyKey);
+        }
+        PendingCreate pending = new PendingCreate(order, idempotencyKey, System.nanoTime(), new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            logger.debug("[Group Commit] Queue full, creating order of customerId={} on its own", order.getCustomerId());
+            return orderService.createOrder(order, idempotencyKey);
+        }
+        if (!running && queue.remove(pending)) {
+            // Stopped after the check above and the shutdown drain may have missed it
+            return orderService.createOrder(order, idempotencyKey);
+        }
+        try {
+            return pending.result().join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("orders.group-commit.queue.size", queue, BlockingQueue::size)
+                .description("Creates waiting for a group-commit transaction")
+                .register(registry);
+    }
+
+    private void commitLoop() {
+        while (running) {
+            List<PendingCreate> batch = new ArrayList<>(properties.maxBatchSize());
+            try {
+                PendingCreate first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch, first.enqueuedAt() + properties.maxWait().toNanos());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                commit(batch);
+                return;
+            }
+            commit(batch);
+        }
+    }
+
+    private void collect(List<PendingCreate> batch, long deadline) throws InterruptedException {
+        while (batch.size() < properties.maxBatchSize()) {
+            queue.drainTo(batch, properties.maxBatchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= properties.maxBatchSize() || remaining <= 0) {
+                return;
+            }
+            PendingCreate next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void commit(List<PendingCreate> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Order> orders = new ArrayList<>(batch.size());
+        List<String> idempotencyKeys = new ArrayList<>(batch.size());
+        for (PendingCreate pending : batch) {
+            orderMetrics.recordGroupCommitWait(start - pending.enqueuedAt());
+            orders.add(pending.order());
+            idempotencyKeys.add(pending.idempotencyKey());
+        }
+        orderMetrics.recordGroupCommitBatch(batch.size());
+
+        try {
+            Set<Order> created = Collections.newSetFromMap(new IdentityHashMap<>());
+            created.addAll(orderService.createOrderGroup(orders, idempotencyKeys));
+            for (PendingCreate pending : batch) {
+                if (created.contains(pending.order())) {
+                    pending.result().complete(pending.order());
+                } else {
+                    pending.result().completeExceptionally(new DuplicateIdempotencyKeyException(
+                            "Idempotency key already used: " + pending.idempotencyKey()));
+                }
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("[Group Commit] Failed to create group of {} orders, creating them one by one", batch.size(), ex);
+            batch.forEach(this::commitAlone);
+        }
+    }
+
+    /**
+     * Creates one order of a failed group in its own transaction, so that a bad order fails only
+     * its own caller, with its own error.
+     */
+    private void commitAlone(PendingCreate pending) {
+        try {
+            pending.order().resetIdentity();
+            pending.result().complete(orderService.createOrder(pending.order(), pending.idempotencyKey()));
+        } catch (RuntimeException ex) {
+            pending.result().completeExceptionally(ex);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < properties.committers(); i++) {
+            Thread committer = threadFactory.newThread(this::commitLoop);
+            committers.add(committer);
+            committer.start();
+        }
+        logger.info("[Group Commit] Started {} committers, maxBatchSize={}, maxWait={}", properties.committers(),
+                properties.maxBatchSize(), properties.maxWait());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread committer : committers) {
+            committer.interrupt();
+        }
+        for (Thread committer : committers) {
+            try {
+                committer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        committers.clear();
+
+        // Creates that arrived while the committers were stopping
+        List<PendingCreate> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        commit(remaining);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record PendingCreate(Order order, String idempotencyKey, long enqueuedAt,
+                                 CompletableFuture<Order> result) {
+    }
+}
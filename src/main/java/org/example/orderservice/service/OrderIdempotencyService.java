@@ -0,0 +1,138 @@
+package org.example.orderservice.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.orderservice.configuration.OrderIdempotencyProperties;
+import org.example.orderservice.dto.response.CreateOrderResponse;
+import org.example.orderservice.exception.DuplicateIdempotencyKeyException;
+import org.example.orderservice.exception.InvalidRequestParameterException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Makes order creation idempotent per customer and {@code Idempotency-Key}.
+ * <p>
+ * A bounded, TTL-evicted in-memory map of keys to responses answers retries without touching
+ * the request body or the database. Entries are futures, so concurrent requests with the same
+ * key wait for the one already running instead of creating orders of their own. Keys not in
+ * memory (evicted, or created on another instance) are looked up in
+ * {@code order_idempotency_keys}, whose primary key also settles races between instances.
+ */
+@Service
+public class OrderIdempotencyService implements MeterBinder {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final int MAX_KEY_LENGTH = 255;
+    static final String CACHE_NAME = "order-idempotency-keys";
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIdempotencyService.class);
+
+    private final OrderService orderService;
+    private final Duration timeToLive;
+    private final AsyncCache<Key, CreateOrderResponse> responses;
+
+    public OrderIdempotencyService(OrderService orderService, OrderIdempotencyProperties properties) {
+        this.orderService = orderService;
+        this.timeToLive = properties.timeToLive();
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.timeToLive())
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Returns the response of the order already created for this key, or runs {@code create}
+     * once and remembers its response. A failed {@code create} is not remembered, so the client
+     * can retry with the same key; requests that were waiting for it run their own.
+     */
+    public CreateOrderResponse createOnce(String customerId, String idempotencyKey,
+                                          Supplier<CreateOrderResponse> create) {
+        validateKey(idempotencyKey);
+
+        Key key = new Key(customerId, idempotencyKey);
+        CompletableFuture<CreateOrderResponse> running = new CompletableFuture<>();
+        CompletableFuture<CreateOrderResponse> existing = responses.get(key, (k, executor) -> running);
+        if (existing != running) {
+            CreateOrderResponse response = join(existing);
+            if (response == null) {
+                // The create this request waited for failed; run its own, as a client retry would
+                return createOnce(customerId, idempotencyKey, create);
+            }
+            logger.info("[Idempotency] Replaying response for customerId={}, idempotencyKey={}", customerId, idempotencyKey);
+            return response;
+        }
+
+        try {
+            CreateOrderResponse response = findStored(key).orElseGet(() -> createOrFindStored(key, create));
+            running.complete(response);
+            return response;
+        } catch (RuntimeException | Error ex) {
+            // Caffeine logs every exceptionally completed entry at WARN, 400s included; a null
+            // value drops the key quietly and the caller still gets the exception
+            running.complete(null);
+            throw ex;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval:1h}")
+    public void purgeExpiredKeys() {
+        int purged = orderService.purgeIdempotencyKeys(Instant.now().minus(timeToLive));
+        if (purged > 0) {
+            logger.info("[Idempotency] Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, responses, CACHE_NAME);
+    }
+
+    private CreateOrderResponse createOrFindStored(Key key, Supplier<CreateOrderResponse> create) {
+        try {
+            return create.get();
+        } catch (DuplicateIdempotencyKeyException ex) {
+            // Another instance committed the same key while this one was creating; use its order
+            return findStored(key).orElseThrow(() -> ex);
+        }
+    }
+
+    private Optional<CreateOrderResponse> findStored(Key key) {
+        return orderService.findOrderIdByIdempotencyKey(key.customerId(), key.idempotencyKey(),
+                        Instant.now().minus(timeToLive))
+                .map(CreateOrderResponse::new);
+    }
+
+    private static void validateKey(String idempotencyKey) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidRequestParameterException(IDEMPOTENCY_KEY_HEADER,
+                    "Idempotency key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private static CreateOrderResponse join(CompletableFuture<CreateOrderResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private record Key(String customerId, String idempotencyKey) {
+    }
+}
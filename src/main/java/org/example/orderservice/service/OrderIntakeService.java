@@ -0,0 +1,398 @@
+package org.example.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.orderservice.configuration.OrderJournalProperties;
+import org.example.orderservice.configuration.WorkerThreads;
+import org.example.orderservice.dto.request.CreateOrderRequest;
+import org.example.orderservice.entities.Order;
+import org.example.orderservice.journal.JournaledOrder;
+import org.example.orderservice.journal.OrderJournal;
+import org.example.orderservice.journal.ParkedOrder;
+import org.example.orderservice.mapper.OrderMapper;
+import org.example.orderservice.metrics.OrderMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.DSYNC;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Write-behind intake of single-order creates. With {@code orders.journal.enabled}, a validated
+ * order is appended to the local {@link OrderJournal} and acknowledged once the journal has
+ * synced it, so acceptance latency no longer follows database latency. A drainer thread then
+ * persists journaled orders in batches and checkpoints the journal after each commit; orders
+ * journaled but not checkpointed before a restart are persisted on the next start.
+ * <p>
+ * Every journaled order is created with the idempotency key {@code intake:<intakeId>}, so an
+ * order persisted just before a crash is skipped rather than created twice when it is replayed,
+ * and its provisional id can be resolved to the order id afterwards.
+ * <p>
+ * A batch the database rejects is retried one order at a time; an order rejected on its own
+ * {@code orders.journal.max-attempts} times is parked in {@code parked.ndjson} and the journal
+ * is checkpointed past it; parked orders are reloaded from that file on start, so their intake
+ * ids keep resolving to the rejection.
+ */
+@Service
+public class OrderIntakeService implements SmartLifecycle, MeterBinder {
+
+    static final String INTAKE_KEY_PREFIX = "intake:";
+    static final String PARKED_FILE = "parked.ndjson";
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIntakeService.class);
+
+    private final OrderService orderService;
+    private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
+    private final OrderJournalProperties properties;
+    private final OrderMetrics orderMetrics;
+    private final WorkerThreads workerThreads;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final BlockingQueue<PendingIntake> pending = new LinkedBlockingQueue<>();
+    private final Map<UUID, String> unpersisted = new ConcurrentHashMap<>();
+    private final Map<UUID, ParkedOrder> parked = new ConcurrentHashMap<>();
+    private volatile List<PendingIntake> inFlight = List.of();
+    private volatile boolean running;
+    private OrderJournal journal;
+    private Thread drainer;
+
+    public OrderIntakeService(OrderService orderService, OrderMapper orderMapper, ObjectMapper objectMapper,
+                              OrderJournalProperties properties, OrderMetrics orderMetrics,
+                              WorkerThreads workerThreads) {
+        this.orderService = orderService;
+        this.orderMapper = orderMapper;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.orderMetrics = orderMetrics;
+        this.workerThreads = workerThreads;
+    }
+
+    /**
+     * Journals a validated order and returns its provisional id once the journal has synced it,
+     * or empty when journaling is off or too many accepted orders await the database.
+     */
+    public Optional<UUID> accept(String customerId, CreateOrderRequest request) {
+        if (!running) {
+            return Optional.empty();
+        }
+        JournaledOrder order = new JournaledOrder(UUID.randomUUID(), customerId, request, Instant.now());
+        long sequence;
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(order);
+            // Sequence and queue order must agree, or a checkpoint could pass an order not yet persisted
+            appendLock.lock();
+            try {
+                if (pending.size() >= properties.maxPending()) {
+                    logger.debug("[Order Intake] {} orders pending, creating order of customerId={} directly",
+                            pending.size(), customerId);
+                    return Optional.empty();
+                }
+                sequence = journal.append(payload);
+                unpersisted.put(order.intakeId(), customerId);
+                pending.add(new PendingIntake(sequence, order));
+            } finally {
+                appendLock.unlock();
+            }
+            journal.awaitDurable(sequence);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to journal order of customerId=" + customerId, ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while journaling order of customerId=" + customerId, ex);
+        }
+        return Optional.of(order.intakeId());
+    }
+
+    /**
+     * Whether the order accepted as {@code intakeId} for this customer still awaits the database.
+     */
+    public boolean isPending(String customerId, UUID intakeId) {
+        return customerId.equals(unpersisted.get(intakeId));
+    }
+
+    /**
+     * The order accepted as {@code intakeId} for this customer if it was parked instead of persisted.
+     */
+    public Optional<ParkedOrder> findParked(String customerId, UUID intakeId) {
+        return Optional.ofNullable(parked.get(intakeId))
+                .filter(parkedOrder -> parkedOrder.order().customerId().equals(customerId));
+    }
+
+    /**
+     * The id of the order persisted for {@code intakeId}, for as long as its idempotency key is kept.
+     */
+    public Optional<Long> findOrderId(String customerId, UUID intakeId) {
+        return orderService.findOrderIdByIdempotencyKey(customerId, INTAKE_KEY_PREFIX + intakeId, Instant.EPOCH);
+    }
+
+    public int pendingCount() {
+        return pending.size() + inFlight.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("orders.journal.pending", this, OrderIntakeService::pendingCount)
+                .description("Journaled orders not yet persisted")
+                .register(registry);
+        TimeGauge.builder("orders.journal.lag", this, TimeUnit.MILLISECONDS, OrderIntakeService::lagMillis)
+                .description("Age of the oldest journaled order not yet persisted")
+                .register(registry);
+    }
+
+    private double lagMillis() {
+        List<PendingIntake> batch = inFlight;
+        PendingIntake oldest = batch.isEmpty() ? pending.peek() : batch.getFirst();
+        return oldest == null ? 0 : Duration.between(oldest.order().acceptedAt(), Instant.now()).toMillis();
+    }
+
+    private void drainLoop() {
+        while (running) {
+            List<PendingIntake> batch = new ArrayList<>(properties.drainBatchSize());
+            try {
+                PendingIntake first = pending.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch, properties.drainBatchSize() - 1);
+                inFlight = batch;
+                persist(batch);
+            } catch (InterruptedException ex) {
+                // Whatever was not checkpointed is replayed on the next start
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                inFlight = List.of();
+            }
+        }
+    }
+
+    private void persist(List<PendingIntake> batch) throws InterruptedException {
+        if (batch.size() == 1) {
+            persistAlone(batch.getFirst());
+            orderMetrics.recordJournalDrain(1);
+            return;
+        }
+        while (true) {
+            try {
+                create(batch);
+                break;
+            } catch (RuntimeException ex) {
+                if (!isTransient(ex)) {
+                    // Likely one order the database will never take; find it without holding up the rest
+                    logger.warn("[Order Intake] Failed to persist {} journaled orders together, persisting them one by one",
+                            batch.size(), ex);
+                    for (PendingIntake intake : batch) {
+                        persistAlone(intake);
+                    }
+                    orderMetrics.recordJournalDrain(batch.size());
+                    return;
+                }
+                logger.error("[Order Intake] Failed to persist {} journaled orders, retrying in {}",
+                        batch.size(), properties.retryInterval(), ex);
+                Thread.sleep(properties.retryInterval());
+            }
+        }
+        checkpoint(batch.getLast().sequence());
+
+        Instant persistedAt = Instant.now();
+        for (PendingIntake intake : batch) {
+            unpersisted.remove(intake.order().intakeId());
+            orderMetrics.recordJournalPersistLag(Duration.between(intake.order().acceptedAt(), persistedAt));
+        }
+        orderMetrics.recordJournalDrain(batch.size());
+    }
+
+    /**
+     * Persists one order in its own transaction. An order rejected {@code max-attempts} times for
+     * a reason other than the database being unavailable is parked instead, so that it cannot hold
+     * up the orders journaled after it, now or after a restart.
+     */
+    private void persistAlone(PendingIntake intake) throws InterruptedException {
+        int attempts = 0;
+        while (true) {
+            try {
+                create(List.of(intake));
+                orderMetrics.recordJournalPersistLag(Duration.between(intake.order().acceptedAt(), Instant.now()));
+                break;
+            } catch (RuntimeException ex) {
+                if (!isTransient(ex) && ++attempts >= properties.maxAttempts()) {
+                    park(intake, ex);
+                    break;
+                }
+                logger.error("[Order Intake] Failed to persist journaled order intakeId={}, retrying in {}",
+                        intake.order().intakeId(), properties.retryInterval(), ex);
+                Thread.sleep(properties.retryInterval());
+            }
+        }
+        checkpoint(intake.sequence());
+        unpersisted.remove(intake.order().intakeId());
+    }
+
+    private void create(List<PendingIntake> intakes) {
+        List<Order> orders = new ArrayList<>(intakes.size());
+        List<String> idempotencyKeys = new ArrayList<>(intakes.size());
+        for (PendingIntake intake : intakes) {
+            orders.add(orderMapper.toEntity(intake.order().request(), intake.order().customerId()));
+            idempotencyKeys.add(INTAKE_KEY_PREFIX + intake.order().intakeId());
+        }
+        orderService.createOrderGroup(orders, idempotencyKeys);
+    }
+
+    /**
+     * Appends the journaled order to {@code parked.ndjson} next to the journal, where it can be
+     * inspected and resubmitted, before the journal is checkpointed past it.
+     */
+    private void park(PendingIntake intake, RuntimeException cause) throws InterruptedException {
+        ParkedOrder parkedOrder = new ParkedOrder(intake.order(),
+                NestedExceptionUtils.getMostSpecificCause(cause).getMessage(), Instant.now());
+        while (true) {
+            try {
+                byte[] line = (objectMapper.writeValueAsString(parkedOrder) + "\n").getBytes(StandardCharsets.UTF_8);
+                Files.write(properties.directory().resolve(PARKED_FILE), line, CREATE, WRITE, APPEND, DSYNC);
+                break;
+            } catch (IOException ex) {
+                logger.error("[Order Intake] Failed to park journaled order intakeId={}, retrying in {}",
+                        intake.order().intakeId(), properties.retryInterval(), ex);
+                Thread.sleep(properties.retryInterval());
+            }
+        }
+        // Recorded before the order stops being pending, so its status never reads as unknown
+        parked.put(intake.order().intakeId(), parkedOrder);
+        orderMetrics.recordJournalParked();
+        logger.error("[Order Intake] Parked journaled order intakeId={} of customerId={} in {} after {} rejections",
+                intake.order().intakeId(), intake.order().customerId(), PARKED_FILE, properties.maxAttempts(), cause);
+    }
+
+    private void loadParked() throws IOException {
+        Path file = properties.directory().resolve(PARKED_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                ParkedOrder parkedOrder = objectMapper.readValue(line, ParkedOrder.class);
+                parked.put(parkedOrder.order().intakeId(), parkedOrder);
+            } catch (JsonProcessingException ex) {
+                // A line torn by a crash mid-append; its order is replayed from the journal and parked again
+                logger.warn("[Order Intake] Skipping unreadable line in {}", file, ex);
+            }
+        }
+    }
+
+    private void checkpoint(long sequence) throws InterruptedException {
+        while (true) {
+            try {
+                journal.checkpoint(sequence);
+                return;
+            } catch (IOException ex) {
+                // Until it succeeds a restart replays these orders, which their idempotency keys make harmless
+                logger.error("[Order Intake] Failed to checkpoint journal at sequence={}, retrying in {}",
+                        sequence, properties.retryInterval(), ex);
+                Thread.sleep(properties.retryInterval());
+            }
+        }
+    }
+
+    /**
+     * Failures that say nothing about the orders themselves, such as the database being down.
+     */
+    private static boolean isTransient(RuntimeException ex) {
+        return ex instanceof TransientDataAccessException
+                || ex instanceof RecoverableDataAccessException
+                || ex instanceof DataAccessResourceFailureException
+                || ex instanceof CannotCreateTransactionException;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        try {
+            journal = OrderJournal.open(properties.directory(), Math.toIntExact(properties.segmentSize().toBytes()),
+                    workerThreads.named("order-journal-sync-"), orderMetrics::recordJournalSync);
+            loadParked();
+            for (OrderJournal.Entry entry : journal.unpersisted()) {
+                JournaledOrder order = objectMapper.readValue(entry.payload(), JournaledOrder.class);
+                unpersisted.put(order.intakeId(), order.customerId());
+                pending.add(new PendingIntake(entry.sequence(), order));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to open order journal in " + properties.directory(), ex);
+        }
+        if (!pending.isEmpty()) {
+            logger.info("[Order Intake] Replaying {} journaled orders not yet persisted", pending.size());
+        }
+
+        running = true;
+        drainer = workerThreads.named("order-journal-drainer-").newThread(this::drainLoop);
+        drainer.start();
+        logger.info("[Order Intake] Journaling orders in {}", properties.directory().toAbsolutePath());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        drainer.interrupt();
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            journal.close();
+        } catch (IOException ex) {
+            logger.warn("[Order Intake] Failed to close order journal", ex);
+        }
+        pending.clear();
+        unpersisted.clear();
+        parked.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record PendingIntake(long sequence, JournaledOrder order) {
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.orderservice.service;
+
+import org.example.orderservice.configuration.OrderOutboxProperties;
+import org.example.orderservice.entities.OrderEventType;
+import org.example.orderservice.entities.OrderOutboxEntry;
+import org.example.orderservice.entities.OrderStatus;
+import org.example.orderservice.events.OrderStatusChangedEvent;
+import org.example.orderservice.events.OrdersCreatedEvent;
+import org.example.orderservice.outbox.OrderEvent;
+import org.example.orderservice.repository.OrderOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Transactional outbox of order events. Creations and status changes are written to
+ * {@code order_outbox} just before the transaction that made them commits, so an event exists
+ * exactly when its change does. {@link org.example.orderservice.jobs.OrderOutboxRelay} hands
+ * them to publishers afterwards.
+ */
+@Service
+public class OrderOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderOutboxService.class);
+
+    private final OrderOutboxRepository outboxRepository;
+    private final OrderOutboxProperties properties;
+
+    public OrderOutboxService(OrderOutboxRepository outboxRepository, OrderOutboxProperties properties) {
+        this.outboxRepository = outboxRepository;
+        this.properties = properties;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrdersCreated(OrdersCreatedEvent event) {
+        if (properties.enabled()) {
+            outboxRepository.insertEvents(event.orderIds(), OrderEventType.ORDER_CREATED.name(), null,
+                    OrderStatus.PENDING.name());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (properties.enabled()) {
+            outboxRepository.insertEvents(event.orderIds(), OrderEventType.ORDER_STATUS_CHANGED.name(),
+                    event.from().name(), event.to().name());
+        }
+    }
+
+    /**
+     * Claims up to {@code limit} of the oldest unpublished events, hands them to {@code publish}
+     * and marks them published, all in one transaction: if {@code publish} throws, the events
+     * stay unpublished and are claimed again later.
+     */
+    @Transactional
+    public List<OrderEvent> relayBatch(int limit, Consumer<List<OrderEvent>> publish) {
+        List<OrderOutboxEntry> entries = outboxRepository.claimUnpublished(limit);
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+
+        List<OrderEvent> events = entries.stream().map(OrderEvent::of).toList();
+        publish.accept(events);
+        outboxRepository.markPublished(events.stream().map(OrderEvent::id).toList(), Instant.now());
+        return events;
+    }
+
+    /**
+     * Committed events of {@code customerId} after {@code afterId}, oldest first, whether or not
+     * they have been relayed yet.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderEvent> findEvents(String customerId, long afterId, int limit) {
+        return outboxRepository.findAfter(customerId, afterId, Limit.of(limit)).stream()
+                .map(OrderEvent::of)
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${orders.outbox.purge-interval:1h}")
+    @Transactional
+    public void purgePublishedEvents() {
+        int purged = outboxRepository.deletePublishedBefore(Instant.now().minus(properties.retention()));
+        if (purged > 0) {
+            logger.info("[Order Outbox] Purged {} published events", purged);
+        }
+    }
+}
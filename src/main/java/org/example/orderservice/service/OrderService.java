@@ -1,35 +1,97 @@
 package org.example.orderservice.service;
 
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import org.example.orderservice.cache.OrderResponseCache;
+import org.example.orderservice.configuration.OrderIdempotencyProperties;
+import org.example.orderservice.dto.response.OrderChangeResponse;
+import org.example.orderservice.dto.response.OrderChangesResponse;
+import org.example.orderservice.dto.response.OrderResponse;
+import org.example.orderservice.dto.response.OrderSummaryResponse;
 import org.example.orderservice.entities.Order;
 import org.example.orderservice.entities.OrderStatus;
+import org.example.orderservice.events.OrderStatusChangedEvent;
+import org.example.orderservice.events.OrdersCreatedEvent;
+import org.example.orderservice.exception.DuplicateIdempotencyKeyException;
+import org.example.orderservice.exception.InvalidRequestParameterException;
 import org.example.orderservice.exception.OrderCancellationException;
 import org.example.orderservice.exception.ResourceNotFoundException;
 import org.example.orderservice.exception.UnAuthorizedException;
+import org.example.orderservice.jfr.OrderCancelEvent;
+import org.example.orderservice.jfr.OrderFetchEvent;
+import org.example.orderservice.mapper.OrderMapper;
+import org.example.orderservice.metrics.OrderMetrics;
+import org.example.orderservice.pagination.CursorPage;
+import org.example.orderservice.pagination.OrderCursor;
 import org.example.orderservice.repository.OrderRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class OrderService {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
 
+    static final int DEFAULT_PAGE_LIMIT = 50;
+    static final int MAX_PAGE_LIMIT = 200;
+    static final int EXPORT_CLEAR_INTERVAL = 500;
+    static final Duration CHANGE_FEED_SETTLE_TIME = Duration.ofSeconds(5);
+
     private final OrderRepository orderRepository;
+    private final EntityManager entityManager;
+    private final OrderMapper orderMapper;
+    private final OrderResponseCache orderResponseCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderMetrics orderMetrics;
+    private final Duration idempotencyKeyTimeToLive;
 
-    public OrderService(OrderRepository orderRepository) {
+    public OrderService(OrderRepository orderRepository, EntityManager entityManager,
+                        OrderMapper orderMapper, OrderResponseCache orderResponseCache,
+                        ApplicationEventPublisher eventPublisher, OrderMetrics orderMetrics,
+                        OrderIdempotencyProperties idempotencyProperties) {
         this.orderRepository = orderRepository;
+        this.entityManager = entityManager;
+        this.orderMapper = orderMapper;
+        this.orderResponseCache = orderResponseCache;
+        this.eventPublisher = eventPublisher;
+        this.orderMetrics = orderMetrics;
+        this.idempotencyKeyTimeToLive = idempotencyProperties.timeToLive();
     }
 
     @Transactional
     public Order createOrder(Order order) {
+        return createOrder(order, null);
+    }
+
+    /**
+     * Creates the order and, when {@code idempotencyKey} is given, records it against the key in
+     * the same transaction. Throws {@link DuplicateIdempotencyKeyException}, rolling the order
+     * back, when another request already created an order with that key.
+     */
+    @Transactional
+    public Order createOrder(Order order, String idempotencyKey) {
         logger.info("[Order Service] Creating order for customerId={} with {} items",
                 order.getCustomerId(), order.getItems().size());
 
         Order createdOrder = orderRepository.save(order);
+        if (idempotencyKey != null && !recordIdempotencyKey(createdOrder, idempotencyKey)) {
+            throw new DuplicateIdempotencyKeyException("Idempotency key already used: " + idempotencyKey);
+        }
+        eventPublisher.publishEvent(new OrdersCreatedEvent(List.of(createdOrder.getId())));
+        orderMetrics.recordCreatedOrder(createdOrder.getItemCount());
 
         logger.info("[Order Service] Order created successfully: orderId={}, customerId={}",
                 createdOrder.getId(), createdOrder.getCustomerId());
@@ -37,60 +99,339 @@ public class OrderService {
         return createdOrder;
     }
 
+    /**
+     * Persists all orders in one transaction. Ids come from pooled sequences, so Hibernate can
+     * send the rows as JDBC batches instead of one round-trip per order and item.
+     */
+    @Transactional
+    public List<Order> createOrders(List<Order> orders) {
+        logger.info("[Order Service] Creating batch of {} orders", orders.size());
+
+        List<Order> createdOrders = orderRepository.saveAll(orders);
+        eventPublisher.publishEvent(new OrdersCreatedEvent(createdOrders.stream().map(Order::getId).toList()));
+        createdOrders.forEach(order -> orderMetrics.recordCreatedOrder(order.getItemCount()));
+
+        logger.info("[Order Service] Batch of {} orders created successfully", createdOrders.size());
+
+        return createdOrders;
+    }
+
+    /**
+     * Creates the orders of several concurrent callers in one transaction, so they share one
+     * commit and their rows go out as multi-row inserts. {@code idempotencyKeys} is parallel to
+     * {@code orders} and may hold nulls. An order whose key is already taken is removed again
+     * before commit instead of failing the group; only the orders actually created are returned.
+     */
+    @Transactional
+    public List<Order> createOrderGroup(List<Order> orders, List<String> idempotencyKeys) {
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        List<Order> createdOrders = new ArrayList<>(savedOrders.size());
+        for (int i = 0; i < savedOrders.size(); i++) {
+            Order order = savedOrders.get(i);
+            String idempotencyKey = idempotencyKeys.get(i);
+            if (idempotencyKey != null && !recordIdempotencyKey(order, idempotencyKey)) {
+                logger.info("[Order Service] Dropping order of customerId={}, idempotency key already used", order.getCustomerId());
+                orderRepository.delete(order);
+                continue;
+            }
+            createdOrders.add(order);
+        }
+        if (!createdOrders.isEmpty()) {
+            eventPublisher.publishEvent(new OrdersCreatedEvent(createdOrders.stream().map(Order::getId).toList()));
+            createdOrders.forEach(order -> orderMetrics.recordCreatedOrder(order.getItemCount()));
+        }
+
+        logger.info("[Order Service] Group of {} orders committed together, {} created", orders.size(), createdOrders.size());
+        return createdOrders;
+    }
+
+    /**
+     * Records the key against the order unless an unexpired row already holds it; an expired one
+     * is taken over, as it would have been purged.
+     */
+    private boolean recordIdempotencyKey(Order order, String idempotencyKey) {
+        Instant notBefore = Instant.now().minus(idempotencyKeyTimeToLive);
+        return orderRepository.insertIdempotencyKey(order.getCustomerId(), idempotencyKey, order.getId(), notBefore) > 0;
+    }
+
     public Order getOrderById(Long orderId) {
         logger.info("[Order Service] Fetching order for orderId={}", orderId);
 
-        return orderRepository.findById(orderId)
+        return orderRepository.findWithItemsById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order with ID " + orderId + " not found"));
     }
 
-    public List<Order> getAllOrders(OrderStatus status) {
-        logger.info("[Order Service] Fetching all orders  status={}", status);
+    public OrderResponse getOrderResponse(Long orderId) {
+        OrderFetchEvent event = new OrderFetchEvent();
+        event.begin();
+        event.orderId = orderId;
+        event.cacheHit = true;
+        event.outcome = OrderFetchEvent.FAILED;
+        try {
+            OrderResponse response = orderResponseCache.get(orderId, id -> {
+                event.cacheHit = false;
+                return orderMapper.toGetOrderResponse(getOrderById(id));
+            });
+            event.outcome = OrderFetchEvent.FOUND;
+            return response;
+        } catch (ResourceNotFoundException ex) {
+            event.outcome = OrderFetchEvent.NOT_FOUND;
+            throw ex;
+        } finally {
+            event.commit();
+        }
+    }
+
+    public CursorPage<Order> getAllOrders(OrderStatus status, String after, Integer limit) {
+        logger.info("[Order Service] Fetching orders page status={}, after={}, limit={}", status, after, limit);
+
+        final int pageLimit = resolvePageLimit(limit);
+        final OrderCursor cursor = after == null ? null : OrderCursor.decode("after", after);
+        final Limit fetchLimit = Limit.of(pageLimit + 1);
 
         final List<Order> orders;
         if (status == null) {
-            orders = orderRepository.findAll();
+            orders = cursor == null
+                    ? orderRepository.findFirstPage(fetchLimit)
+                    : orderRepository.findPageAfter(cursor.timestamp(), cursor.id(), fetchLimit);
         } else {
-            orders = orderRepository.findOrderByStatus(status);
+            orders = cursor == null
+                    ? orderRepository.findFirstPageByStatus(status, fetchLimit)
+                    : orderRepository.findPageByStatusAfter(status, cursor.timestamp(), cursor.id(), fetchLimit);
         }
 
-        logger.info("[Order Service] Retrieved {} orders, status={}", orders.size(), status);
-        return orders;
+        CursorPage<Order> page = CursorPage.of(orders, pageLimit,
+                order -> new OrderCursor(order.getCreatedAt(), order.getId()));
+
+        logger.info("[Order Service] Retrieved {} orders, status={}, hasNext={}",
+                page.content().size(), status, page.nextCursor() != null);
+        return page;
     }
 
+    public CursorPage<Order> getCustomerOrders(String customerId, String after, Integer limit) {
+        logger.info("[Order Service] Fetching orders page for customerId={}, after={}, limit={}", customerId, after, limit);
+
+        final int pageLimit = resolvePageLimit(limit);
+        final OrderCursor cursor = after == null ? null : OrderCursor.decode("after", after);
+        final Limit fetchLimit = Limit.of(pageLimit + 1);
+
+        final List<Order> orders = cursor == null
+                ? orderRepository.findFirstPageByCustomer(customerId, fetchLimit)
+                : orderRepository.findPageByCustomerAfter(customerId, cursor.timestamp(), cursor.id(), fetchLimit);
+
+        CursorPage<Order> page = CursorPage.of(orders, pageLimit,
+                order -> new OrderCursor(order.getCreatedAt(), order.getId()));
+
+        logger.info("[Order Service] Retrieved {} orders for customerId={}, hasNext={}",
+                page.content().size(), customerId, page.nextCursor() != null);
+        return page;
+    }
+
+    /**
+     * Same keyset paging as {@link #getAllOrders}, but rows are projected straight into DTOs:
+     * no entities, item collections or dirty-checking snapshots are created.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderSummaryResponse> getOrderSummaries(OrderStatus status, String after, Integer limit) {
+        logger.info("[Order Service] Fetching order summaries page status={}, after={}, limit={}", status, after, limit);
+
+        final int pageLimit = resolvePageLimit(limit);
+        final OrderCursor cursor = after == null ? null : OrderCursor.decode("after", after);
+        final Limit fetchLimit = Limit.of(pageLimit + 1);
+
+        final List<OrderSummaryResponse> summaries;
+        if (status == null) {
+            summaries = cursor == null
+                    ? orderRepository.findFirstSummaryPage(fetchLimit)
+                    : orderRepository.findSummaryPageAfter(cursor.timestamp(), cursor.id(), fetchLimit);
+        } else {
+            summaries = cursor == null
+                    ? orderRepository.findFirstSummaryPageByStatus(status, fetchLimit)
+                    : orderRepository.findSummaryPageByStatusAfter(status, cursor.timestamp(), cursor.id(), fetchLimit);
+        }
+
+        CursorPage<OrderSummaryResponse> page = CursorPage.of(summaries, pageLimit,
+                summary -> new OrderCursor(summary.createdAt(), summary.orderId()));
+
+        logger.info("[Order Service] Retrieved {} order summaries, status={}, hasNext={}",
+                page.content().size(), status, page.nextCursor() != null);
+        return page;
+    }
+
+    /**
+     * Streams every order (optionally of one status) to {@code consumer} over a server-side
+     * cursor. The persistence context is cleared every {@value #EXPORT_CLEAR_INTERVAL} rows so
+     * heap usage stays flat however many orders are exported; the consumer must therefore
+     * finish with each order before returning.
+     */
+    @Transactional(readOnly = true)
+    public long exportOrders(OrderStatus status, Consumer<Order> consumer) {
+        logger.info("[Order Service] Exporting orders status={}", status);
+
+        long exported = 0;
+        try (Stream<Order> orders = status == null
+                ? orderRepository.streamAll()
+                : orderRepository.streamByStatus(status)) {
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                if (++exported % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+
+        logger.info("[Order Service] Exported {} orders, status={}", exported, status);
+        return exported;
+    }
+
+    /**
+     * Keyset pages of orders in the order of their latest change, starting after {@code since}:
+     * an ISO-8601 instant, or the watermark returned by the previous call. Changes from the last
+     * {@link #CHANGE_FEED_SETTLE_TIME} are held back, because {@code updated_at} is stamped
+     * before commit: a change still committing, or stamped by an instance whose clock runs
+     * behind, could otherwise land behind a watermark already handed out.
+     */
+    @Transactional(readOnly = true)
+    public OrderChangesResponse getOrderChanges(String since, Integer limit) {
+        logger.info("[Order Service] Fetching order changes since={}, limit={}", since, limit);
+
+        final int pageLimit = resolvePageLimit(limit);
+        final OrderCursor from = resolveWatermark(since);
+        final Instant until = Instant.now().minus(CHANGE_FEED_SETTLE_TIME);
+
+        List<OrderChangeResponse> changes = orderRepository.findChangesAfter(from.timestamp(), from.id(), until,
+                Limit.of(pageLimit + 1));
+        boolean hasMore = changes.size() > pageLimit;
+        if (hasMore) {
+            changes = changes.subList(0, pageLimit);
+        }
+        OrderCursor watermark = changes.isEmpty()
+                ? from
+                : new OrderCursor(changes.getLast().updatedAt(), changes.getLast().orderId());
+
+        logger.info("[Order Service] Retrieved {} order changes, hasMore={}", changes.size(), hasMore);
+        return new OrderChangesResponse(changes, watermark.encode(), hasMore);
+    }
+
+    private OrderCursor resolveWatermark(String since) {
+        if (since == null) {
+            return new OrderCursor(Instant.EPOCH, 0L);
+        }
+        try {
+            return new OrderCursor(Instant.parse(since), 0L);
+        } catch (DateTimeParseException ex) {
+            return OrderCursor.decode("since", since);
+        }
+    }
+
+    private int resolvePageLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_LIMIT;
+        }
+        if (limit < 1) {
+            throw new InvalidRequestParameterException("limit", "Limit should be greater than zero");
+        }
+        return Math.min(limit, MAX_PAGE_LIMIT);
+    }
+
+    /**
+     * Cancels with one conditional UPDATE so the PENDING check and the write are atomic with
+     * respect to the scheduler. The order is only read back when nothing was updated, to tell
+     * the caller why.
+     */
     @Transactional
     public void cancelOrder(Long orderId, String customerId) {
         logger.info("[Order Service] Cancelling order for  orderId={}, customerId={}", orderId, customerId);
 
-        Order existingOrder = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order with ID " + orderId + " not found"));
+        OrderCancelEvent event = new OrderCancelEvent();
+        event.begin();
+        event.orderId = orderId;
+        event.outcome = OrderCancelEvent.FAILED;
+        try {
+            if (orderRepository.cancelIfPending(orderId, customerId) == 0) {
+                Order existingOrder = orderRepository.findById(orderId).orElse(null);
+                if (existingOrder == null) {
+                    event.outcome = OrderCancelEvent.NOT_FOUND;
+                    throw new ResourceNotFoundException("Order with ID " + orderId + " not found");
+                }
 
-        if (!existingOrder.getCustomerId().equals(customerId)) {
-            logger.warn("[Order Service] Unauthorized cancellation attempt for  orderId={}, customerId={}", orderId, customerId);
-            throw new UnAuthorizedException("You are not authorized to cancel this order");
-        }
+                if (!existingOrder.getCustomerId().equals(customerId)) {
+                    logger.warn("[Order Service] Unauthorized cancellation attempt for  orderId={}, customerId={}", orderId, customerId);
+                    event.outcome = OrderCancelEvent.UNAUTHORIZED;
+                    throw new UnAuthorizedException("You are not authorized to cancel this order");
+                }
 
-        if (existingOrder.getStatus() != OrderStatus.PENDING) {
-            logger.warn("[Order Service] Cannot cancel order for  orderId={}, currentStatus={}", orderId, existingOrder.getStatus());
-            throw new OrderCancellationException("Order cannot be cancelled as it is already " + existingOrder.getStatus());
-        }
+                if (existingOrder.getStatus() == OrderStatus.PENDING) {
+                    // The row changed between the UPDATE and this read; the caller may simply retry
+                    event.outcome = OrderCancelEvent.CONCURRENTLY_MODIFIED;
+                    throw new OrderCancellationException("Order was modified concurrently, please retry");
+                }
 
-        existingOrder.setStatus(OrderStatus.CANCELLED);
-        orderRepository.save(existingOrder);
+                logger.warn("[Order Service] Cannot cancel order for  orderId={}, currentStatus={}", orderId, existingOrder.getStatus());
+                event.outcome = OrderCancelEvent.NOT_PENDING;
+                throw new OrderCancellationException("Order cannot be cancelled as it is already " + existingOrder.getStatus());
+            }
+            orderResponseCache.evictAfterCommit(orderId);
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(List.of(orderId), OrderStatus.PENDING, OrderStatus.CANCELLED));
+            event.outcome = OrderCancelEvent.CANCELLED;
+        } finally {
+            event.commit();
+        }
 
         logger.info("[Order Service] Order cancelled successfully for orderId={}", orderId);
     }
 
+    /**
+     * Claims up to {@code chunkSize} PENDING orders and moves them to PROCESSING in one short
+     * transaction. Returns the ids that were transitioned; fewer than {@code chunkSize} means the
+     * backlog visible to this worker is drained.
+     */
     @Transactional
-    public int updateOrderStatus(OrderStatus currentStatus, OrderStatus newStatus) {
-        logger.info("[Order Service] Updating orders from status {} to {}", currentStatus, newStatus);
+    public List<Long> processPendingChunk(int chunkSize) {
+        List<Long> orderIds = orderRepository.claimPendingOrderIds(chunkSize);
+        if (orderIds.isEmpty()) {
+            return orderIds;
+        }
 
-        int updatedCount = orderRepository.updateStatus(currentStatus, newStatus);
+        int updatedCount = orderRepository.updateStatusByIds(orderIds, OrderStatus.PENDING, OrderStatus.PROCESSING);
+        orderIds.forEach(orderResponseCache::evictAfterCommit);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(orderIds, OrderStatus.PENDING, OrderStatus.PROCESSING));
 
-        logger.info("[Order Service]Updated {} orders from {} to {}", updatedCount, currentStatus, newStatus);
+        logger.info("[Order Service] Updated {} orders from {} to {}", updatedCount, OrderStatus.PENDING, OrderStatus.PROCESSING);
+        return orderIds;
+    }
 
-        return updatedCount;
+    public Optional<Long> findOrderIdByIdempotencyKey(String customerId, String idempotencyKey, Instant notBefore) {
+        return orderRepository.findOrderIdByIdempotencyKey(customerId, idempotencyKey, notBefore);
+    }
+
+    @Transactional
+    public int purgeIdempotencyKeys(Instant cutoff) {
+        return orderRepository.deleteIdempotencyKeysCreatedBefore(cutoff);
     }
 
+    public Optional<Instant> findOldestPendingCreatedAt() {
+        return orderRepository.findOldestCreatedAtByStatus(OrderStatus.PENDING);
+    }
 
+    /**
+     * Moves the given orders to PROCESSING if they are still PENDING; orders cancelled,
+     * already processed or locked by another transaction in the meantime are left alone.
+     */
+    @Transactional
+    public int transitionPendingOrders(List<Long> orderIds) {
+        List<Long> claimedIds = orderRepository.claimPendingOrderIdsIn(orderIds);
+        if (claimedIds.isEmpty()) {
+            return 0;
+        }
+
+        int updatedCount = orderRepository.updateStatusByIds(claimedIds, OrderStatus.PENDING, OrderStatus.PROCESSING);
+        claimedIds.forEach(orderResponseCache::evictAfterCommit);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(claimedIds, OrderStatus.PENDING, OrderStatus.PROCESSING));
+
+        logger.info("[Order Service] Updated {} of {} queued orders from {} to {}",
+                updatedCount, orderIds.size(), OrderStatus.PENDING, OrderStatus.PROCESSING);
+        return updatedCount;
+    }
 }
@@ -0,0 +1,6 @@
+package org.example.orderservice.stats;
+
+import org.example.orderservice.entities.OrderStatus;
+
+public record OrderStatusCount(OrderStatus status, long count) {
+}
@@ -0,0 +1,70 @@
+package org.example.orderservice.stats;
+
+import org.example.orderservice.entities.OrderStatus;
+import org.example.orderservice.events.OrderStatusChangedEvent;
+import org.example.orderservice.events.OrdersCreatedEvent;
+import org.example.orderservice.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory order counts per status, so dashboards can poll them without a {@code COUNT(*)}.
+ * <p>
+ * Counters move on committed create and status-change events and are periodically reset from
+ * the database. Writes that bypass the service (or land on another instance) are only picked up
+ * by the next reconcile, so the counts are eventually consistent.
+ */
+@Component
+public class OrderStatusCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusCounters.class);
+
+    private final OrderRepository orderRepository;
+    private final Map<OrderStatus, LongAdder> counters = new EnumMap<>(OrderStatus.class);
+
+    public OrderStatusCounters(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+        for (OrderStatus status : OrderStatus.values()) {
+            counters.put(status, new LongAdder());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onOrdersCreated(OrdersCreatedEvent event) {
+        counters.get(OrderStatus.PENDING).add(event.orderIds().size());
+    }
+
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        counters.get(event.from()).add(-event.orderIds().size());
+        counters.get(event.to()).add(event.orderIds().size());
+    }
+
+    public Map<OrderStatus, Long> snapshot() {
+        Map<OrderStatus, Long> snapshot = new EnumMap<>(OrderStatus.class);
+        counters.forEach((status, counter) -> snapshot.put(status, Math.max(0, counter.sum())));
+        return snapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${orders.stats.reconcile-interval:60s}")
+    public void reconcile() {
+        Map<OrderStatus, Long> actual = new EnumMap<>(OrderStatus.class);
+        orderRepository.countGroupByStatus().forEach(count -> actual.put(count.status(), count.count()));
+
+        counters.forEach((status, counter) -> {
+            long expected = actual.getOrDefault(status, 0L);
+            long drift = expected - counter.sum();
+            if (drift != 0) {
+                counter.add(drift);
+                logger.debug("[Order Stats] Reconciled status={} by {}", status, drift);
+            }
+        });
+    }
+}
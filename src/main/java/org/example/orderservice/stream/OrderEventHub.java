@@ -0,0 +1,226 @@
+package org.example.orderservice.stream;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.orderservice.configuration.OrderStreamProperties;
+import org.example.orderservice.configuration.WorkerThreads;
+import org.example.orderservice.outbox.OrderEvent;
+import org.example.orderservice.outbox.OrderEventPublisher;
+import org.example.orderservice.service.OrderOutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Fans relayed order events out to the Server-Sent Events streams of their customers.
+ * <p>
+ * Streams are async requests, so an idle stream holds a connection but no thread. Each
+ * subscriber has a small bounded queue drained by a shared pool of senders (or a virtual thread
+ * per drain), so the relay never waits on a slow client; a client that falls a whole queue
+ * behind is disconnected and catches up by reconnecting with {@code Last-Event-ID}, which is
+ * answered from {@code order_outbox}. Delivery is at least once; event ids are outbox ids.
+ * <p>
+ * The hub only sees events relayed on this instance. With several instances, either route a
+ * customer's streams and the relay to one instance or feed the hub from the broker instead.
+ */
+@Component
+public class OrderEventHub implements OrderEventPublisher, MeterBinder, DisposableBean {
+
+    static final String EVENT_NAME = "order";
+    private static final Object HEARTBEAT = new Object();
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderEventHub.class);
+
+    private final OrderOutboxService outboxService;
+    private final OrderStreamProperties properties;
+    private final ExecutorService senders;
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong subscriberCount = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+
+    public OrderEventHub(OrderOutboxService outboxService, OrderStreamProperties properties,
+                         WorkerThreads workerThreads) {
+        this.outboxService = outboxService;
+        this.properties = properties;
+        this.senders = workerThreads.isVirtual()
+                ? Executors.newThreadPerTaskExecutor(workerThreads.named("order-stream-"))
+                : Executors.newFixedThreadPool(properties.senders(), workerThreads.named("order-stream-"));
+    }
+
+    /**
+     * Opens a stream of {@code customerId}'s order events. With {@code lastEventId}, the events
+     * after it still in the outbox are replayed first. When more than {@code replay-limit} are
+     * missed, the stream ends after one full replay page, so the client reconnects from its last
+     * id and pages through the backlog instead of skipping to live events.
+     */
+    public SseEmitter subscribe(String customerId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        Subscriber subscriber = new Subscriber(customerId, emitter, properties.queueCapacity());
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(ex -> remove(subscriber));
+
+        // Registered before the replay query, which also returns events not relayed yet, so an
+        // event relayed meanwhile is either queued here or replayed, and skipped if both
+        subscribers.computeIfAbsent(customerId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriberCount.incrementAndGet();
+        try {
+            if (lastEventId != null) {
+                List<OrderEvent> missed = outboxService.findEvents(customerId, lastEventId, properties.replayLimit());
+                subscriber.replayed = missed.stream().map(OrderEvent::id).collect(Collectors.toSet());
+                for (OrderEvent event : missed) {
+                    emitter.send(toSseEvent(event));
+                }
+                if (missed.size() >= properties.replayLimit()) {
+                    // More may follow; ending the stream makes the client resume after the last one sent
+                    logger.debug("[Order Stream] Replayed {} events to customerId={}, closing for the client to resume",
+                            missed.size(), customerId);
+                    remove(subscriber);
+                    emitter.complete();
+                    return emitter;
+                }
+            }
+            // Flushes the preamble so the client sees the stream open
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException | RuntimeException ex) {
+            remove(subscriber);
+            emitter.completeWithError(ex);
+            return emitter;
+        }
+        subscriber.replaying = false;
+        schedule(subscriber);
+
+        logger.debug("[Order Stream] Subscribed customerId={}, lastEventId={}", customerId, lastEventId);
+        return emitter;
+    }
+
+    @Override
+    public void publish(List<OrderEvent> events) {
+        for (OrderEvent event : events) {
+            Set<Subscriber> customerSubscribers = subscribers.get(event.customerId());
+            if (customerSubscribers != null) {
+                customerSubscribers.forEach(subscriber -> enqueue(subscriber, event));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.stream.heartbeat-interval:15s}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(customerSubscribers ->
+                customerSubscribers.forEach(subscriber -> enqueue(subscriber, HEARTBEAT)));
+    }
+
+    public long subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("orders.stream.subscribers", this, OrderEventHub::subscriberCount)
+                .description("Open order event streams")
+                .register(registry);
+        FunctionCounter.builder("orders.stream.evicted", evicted, AtomicLong::get)
+                .description("Streams closed because the client fell too far behind")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.values().forEach(customerSubscribers ->
+                customerSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    private void enqueue(Subscriber subscriber, Object item) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.queue.offer(item)) {
+            evicted.incrementAndGet();
+            logger.debug("[Order Stream] customerId={} fell behind, closing its stream", subscriber.customerId);
+            remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.replaying && !subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Object item;
+            while (!subscriber.closed.get() && (item = subscriber.queue.poll()) != null) {
+                if (item == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else if (!subscriber.replayed.contains(((OrderEvent) item).id())) {
+                    subscriber.emitter.send(toSseEvent((OrderEvent) item));
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // The client went away; the emitter's completion callback may not run for a dead socket
+            remove(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        schedule(subscriber);
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.customerId, (id, customerSubscribers) -> {
+            customerSubscribers.remove(subscriber);
+            return customerSubscribers.isEmpty() ? null : customerSubscribers;
+        });
+    }
+
+    private static SseEmitter.SseEventBuilder toSseEvent(OrderEvent event) {
+        return SseEmitter.event()
+                .id(Long.toString(event.id()))
+                .name(EVENT_NAME)
+                .data(event, MediaType.APPLICATION_JSON);
+    }
+
+    private static final class Subscriber {
+
+        private final String customerId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean replaying = true;
+        private volatile Set<Long> replayed = Set.of();
+
+        private Subscriber(String customerId, SseEmitter emitter, int queueCapacity) {
+            this.customerId = customerId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+-- Order events written in the same transaction as the change they describe and relayed to
+-- downstream consumers afterwards. No foreign key to orders: events outlive the orders they
+-- describe and must not slow down deletes.
+CREATE TABLE IF NOT EXISTS order_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    customer_id VARCHAR(255) NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    previous_status VARCHAR(20),
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    published_at TIMESTAMPTZ
+);
+
+-- The relay claims the oldest unpublished events; published ones drop out of this index
+CREATE INDEX IF NOT EXISTS idx_order_outbox_unpublished ON order_outbox (id) WHERE published_at IS NULL;
+
+-- Serves the periodic purge of published events
+CREATE INDEX IF NOT EXISTS idx_order_outbox_published_at ON order_outbox (published_at);
@@ -0,0 +1,2 @@
+-- Serves the change feed, which walks orders in (updated_at, id) order from a watermark
+CREATE INDEX IF NOT EXISTS idx_orders_updated_at_id ON orders (updated_at, id);
@@ -0,0 +1,2 @@
+-- Serves resuming a customer's event stream: their events after the last event id received
+CREATE INDEX IF NOT EXISTS idx_order_outbox_customer_id_id ON order_outbox (customer_id, id);
@@ -0,0 +1,2 @@
+-- Keyset pagination walks orders newest first by (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_id ON orders (created_at DESC, id DESC);
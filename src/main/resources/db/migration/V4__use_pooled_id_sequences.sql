@@ -0,0 +1,4 @@
+-- Hibernate reserves ids in blocks of 50 from these sequences (pooled optimizer) instead of
+-- relying on IDENTITY columns, which would force one INSERT round-trip per row
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
@@ -0,0 +1,2 @@
+-- Optimistic locking version, bumped by every entity and bulk update of an order
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,16 @@
+-- Denormalized totals, maintained by the application on every item change so reads and
+-- list pages never need to load order_items just to show an amount
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS total_amount NUMERIC(19,2) NOT NULL DEFAULT 0;
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS item_count INT NOT NULL DEFAULT 0;
+
+UPDATE orders o
+SET total_amount = t.total_amount,
+    item_count = t.item_count
+FROM (
+    SELECT order_id,
+           SUM(product_price * product_quantity) AS total_amount,
+           COUNT(*) AS item_count
+    FROM order_items
+    GROUP BY order_id
+) t
+WHERE t.order_id = o.id;
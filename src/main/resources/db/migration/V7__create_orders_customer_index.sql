@@ -0,0 +1,2 @@
+-- Serves the per-customer history (GET /api/orders/mine) as an index range scan in keyset order
+CREATE INDEX IF NOT EXISTS idx_orders_customer_created_at_id ON orders (customer_id, created_at DESC, id DESC);
@@ -0,0 +1,7 @@
+-- Active orders are a small, constantly changing slice of the table, so index only them.
+-- Serves the FOR UPDATE SKIP LOCKED claim, which walks PENDING rows in id order
+CREATE INDEX IF NOT EXISTS idx_orders_pending_id ON orders (id) WHERE status = 'PENDING';
+
+-- Serves status-filtered list and summary pages for the active statuses
+CREATE INDEX IF NOT EXISTS idx_orders_active_status_created_at_id ON orders (status, created_at DESC, id DESC)
+    WHERE status IN ('PENDING', 'PROCESSING');
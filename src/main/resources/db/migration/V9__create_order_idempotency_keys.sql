@@ -0,0 +1,13 @@
+-- Idempotency-Key header values per customer and the order they created. The primary key is
+-- what makes a retried create race-free across instances: the second insert of a key waits for
+-- the first transaction and then conflicts.
+CREATE TABLE IF NOT EXISTS order_idempotency_keys (
+    customer_id VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    order_id BIGINT NOT NULL REFERENCES orders (id) ON DELETE CASCADE,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (customer_id, idempotency_key)
+);
+
+-- Serves the periodic purge of expired keys
+CREATE INDEX IF NOT EXISTS idx_order_idempotency_keys_created_at ON order_idempotency_keys (created_at);
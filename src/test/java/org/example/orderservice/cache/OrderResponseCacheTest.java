@@ -0,0 +1,112 @@
+package org.example.orderservice.cache;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import jdk.jfr.Recording;
+import org.example.orderservice.configuration.OrderCacheProperties;
+import org.example.orderservice.dto.response.OrderResponse;
+import org.example.orderservice.entities.OrderStatus;
+import org.example.orderservice.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+public class OrderResponseCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final OrderResponseCache cache = new OrderResponseCache(new OrderCacheProperties(100, Duration.ofMinutes(1)));
+
+    @Test
+    void concurrentMissesShareOneLoadWithoutPinningVirtualThreads() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        Path file = tempDir.resolve("pinning.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<OrderResponse>> futures = new ArrayList<>();
+                for (int i = 0; i < 16; i++) {
+                    futures.add(executor.submit(() -> cache.get(1L, id -> {
+                        loads.incrementAndGet();
+                        sleep(50);
+                        return response(id);
+                    })));
+                }
+                for (Future<OrderResponse> future : futures) {
+                    Assertions.assertEquals(1L, future.get().orderId());
+                }
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Assertions.assertEquals(1, loads.get());
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            Assertions.assertFalse(event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                            .anyMatch(frame -> frame.getMethod().getType().getName().equals(OrderResponseCache.class.getName())),
+                    "Virtual thread pinned inside the cache: " + event);
+        }
+    }
+
+    @Test
+    void missIsRethrownAndNotCachedOrLogged() {
+        List<LogRecord> logged = new ArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                logged.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Logger caffeineLogger = Logger.getLogger("com.github.benmanes.caffeine.cache.LocalAsyncCache");
+        caffeineLogger.addHandler(handler);
+        try {
+            Assertions.assertThrows(ResourceNotFoundException.class, () -> cache.get(2L, id -> {
+                throw new ResourceNotFoundException("Order with ID " + id + " not found");
+            }));
+        } finally {
+            caffeineLogger.removeHandler(handler);
+        }
+
+        Assertions.assertEquals(List.of(), logged);
+        Assertions.assertEquals(2L, cache.get(2L, OrderResponseCacheTest::response).orderId());
+        Assertions.assertEquals(1, cache.stats().loadFailureCount());
+    }
+
+    private static OrderResponse response(Long orderId) {
+        return new OrderResponse(orderId, "123", OrderStatus.PENDING, BigDecimal.TEN, 1, Instant.now(), List.of());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
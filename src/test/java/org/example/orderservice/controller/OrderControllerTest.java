@@ -4,18 +4,29 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.orderservice.controllers.OrderController;
 import org.example.orderservice.dto.ApiResponse;
+import org.example.orderservice.dto.request.BatchCreateOrderRequest;
 import org.example.orderservice.dto.request.CreateOrderRequest;
 import org.example.orderservice.dto.request.OrderItemRequest;
 import org.example.orderservice.dto.response.CreateOrderResponse;
+import org.example.orderservice.dto.response.OrderChangeResponse;
+import org.example.orderservice.dto.response.OrderChangesResponse;
 import org.example.orderservice.dto.response.OrderItemResponse;
 import org.example.orderservice.dto.response.OrderResponse;
+import org.example.orderservice.dto.response.OrderSummaryResponse;
 import org.example.orderservice.entities.Order;
 import org.example.orderservice.entities.OrderStatus;
+import org.example.orderservice.exception.InvalidRequestParameterException;
 import org.example.orderservice.exception.OrderCancellationException;
 import org.example.orderservice.exception.ResourceNotFoundException;
 import org.example.orderservice.exception.UnAuthorizedException;
 import org.example.orderservice.mapper.OrderMapper;
+import org.example.orderservice.pagination.CursorPage;
+import org.example.orderservice.service.OrderGroupCommitter;
+import org.example.orderservice.service.OrderIdempotencyService;
+import org.example.orderservice.service.OrderIntakeService;
 import org.example.orderservice.service.OrderService;
+import org.example.orderservice.stats.OrderStatusCounters;
+import org.example.orderservice.stream.OrderEventHub;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -27,13 +38,19 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(OrderController.class)
@@ -48,9 +65,24 @@ public class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @MockBean
+    private OrderGroupCommitter orderGroupCommitter;
+
+    @MockBean
+    private OrderIntakeService orderIntakeService;
+
     @MockBean
     private OrderMapper orderMapper;
 
+    @MockBean
+    private OrderStatusCounters orderStatusCounters;
+
+    @MockBean
+    private OrderEventHub orderEventHub;
+
     @Test
     void createOrderSuccessfully() throws Exception {
         String customerId = "123";
@@ -63,7 +95,7 @@ public class OrderControllerTest {
         CreateOrderResponse responseDto = new CreateOrderResponse(1L);
 
         Mockito.when(orderMapper.toEntity(request, customerId)).thenReturn(orderEntity);
-        Mockito.when(orderService.createOrder(orderEntity)).thenReturn(orderEntity);
+        Mockito.when(orderGroupCommitter.createOrder(orderEntity, null)).thenReturn(orderEntity);
         Mockito.when(orderMapper.toCreateOrderResponse(orderEntity)).thenReturn(responseDto);
 
         MvcResult result = mockMvc.perform(post("/api/orders")
@@ -83,6 +115,77 @@ public class OrderControllerTest {
         Assertions.assertEquals(1L, apiResponse.data().orderId());
     }
 
+    @Test
+    void createOrderWithIdempotencyKeyReplaysStoredResponse() throws Exception {
+        OrderItemRequest orderItemRequest = new OrderItemRequest("Laptop", 1, 2, new BigDecimal("5000.00"));
+        CreateOrderRequest request = new CreateOrderRequest(List.of(orderItemRequest));
+
+        Mockito.when(orderIdempotencyService.createOnce(Mockito.eq("123"), Mockito.eq("key-1"), Mockito.any()))
+                .thenReturn(new CreateOrderResponse(7L));
+
+        mockMvc.perform(post("/api/orders")
+                        .header("X-Customer-Id", "123")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.orderId").value(7));
+
+        Mockito.verifyNoInteractions(orderService, orderGroupCommitter, orderMapper);
+    }
+
+    @Test
+    void createOrderAnswersAcceptedWhenJournaled() throws Exception {
+        CreateOrderRequest request = new CreateOrderRequest(List.of(
+                new OrderItemRequest("Laptop", 1, 2, new BigDecimal("5000.00"))));
+        UUID intakeId = UUID.randomUUID();
+        Mockito.when(orderIntakeService.isRunning()).thenReturn(true);
+        Mockito.when(orderIntakeService.accept("123", request)).thenReturn(Optional.of(intakeId));
+
+        mockMvc.perform(post("/api/orders")
+                        .header("X-Customer-Id", "123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.intakeId").value(intakeId.toString()));
+
+        Mockito.verifyNoInteractions(orderGroupCommitter);
+    }
+
+    @Test
+    void getIntakeStatusResolvesPersistedOrder() throws Exception {
+        UUID pendingId = UUID.randomUUID();
+        UUID persistedId = UUID.randomUUID();
+        Mockito.when(orderIntakeService.isPending("123", pendingId)).thenReturn(true);
+        Mockito.when(orderIntakeService.findOrderId("123", persistedId)).thenReturn(Optional.of(42L));
+
+        mockMvc.perform(get("/api/orders/intake/" + pendingId).header("X-Customer-Id", "123"))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(get("/api/orders/intake/" + persistedId).header("X-Customer-Id", "123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.orderId").value(42));
+        mockMvc.perform(get("/api/orders/intake/" + UUID.randomUUID()).header("X-Customer-Id", "123"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getOrderChangesReturnsChangesAndWatermark() throws Exception {
+        Instant updatedAt = Instant.parse("2025-01-01T10:15:30Z");
+        OrderChangeResponse change = new OrderChangeResponse(5L, "123", OrderStatus.CANCELLED,
+                new BigDecimal("10.00"), updatedAt, updatedAt);
+        Mockito.when(orderService.getOrderChanges("2025-01-01T00:00:00Z", 100))
+                .thenReturn(new OrderChangesResponse(List.of(change), "next-watermark", false));
+
+        mockMvc.perform(get("/api/orders/changes")
+                        .param("since", "2025-01-01T00:00:00Z")
+                        .param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.changes[0].orderId").value(5))
+                .andExpect(jsonPath("$.data.changes[0].status").value("CANCELLED"))
+                .andExpect(jsonPath("$.data.watermark").value("next-watermark"))
+                .andExpect(jsonPath("$.data.hasMore").value(false));
+    }
+
     @Test
     void throwBadRequestWhenItemsAreEmpty() throws Exception {
         String customerId = "123";
@@ -131,22 +234,99 @@ public class OrderControllerTest {
         Assertions.assertEquals("Product price should be greater than zero", apiResponse.data().get("items[0].productPrice"));
     }
 
+    @Test
+    void throwBadRequestWhenValuesExceedColumnBounds() throws Exception {
+        OrderItemRequest oversizedItem = new OrderItemRequest("x".repeat(256), 1, 1, new BigDecimal("123456789.001"));
+        CreateOrderRequest request = new CreateOrderRequest(List.of(oversizedItem));
+
+        mockMvc.perform(post("/api/orders")
+                        .header("X-Customer-Id", "123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.data['items[0].productName']").value("Product name must be at most 255 characters"))
+                .andExpect(jsonPath("$.data['items[0].productPrice']")
+                        .value("Product price must have at most 8 integer digits and 2 decimals"));
+
+        BigDecimal maxPrice = new BigDecimal("99999999.99");
+        CreateOrderRequest overflowing = new CreateOrderRequest(List.of(
+                new OrderItemRequest("Laptop", 1, Integer.MAX_VALUE, maxPrice),
+                new OrderItemRequest("Laptop", 1, 1, maxPrice)));
+        mockMvc.perform(post("/api/orders")
+                        .header("X-Customer-Id", "123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(overflowing)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.data.totalAmountInRange").value("Order total must be at most 99999999999999999.99"))
+                .andExpect(jsonPath("$.data.productQuantityInRange")
+                        .value("Total quantity of a product must be at most 2147483647"));
+
+        CreateOrderRequest valid = new CreateOrderRequest(List.of(new OrderItemRequest("Laptop", 1, 1, new BigDecimal("5000.00"))));
+        mockMvc.perform(post("/api/orders")
+                        .header("X-Customer-Id", "c".repeat(256))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(valid)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Validation failed"))
+                .andExpect(jsonPath("$.data['X-Customer-Id']").value("Customer ID must be at most 255 characters"));
+
+        Mockito.verify(orderIntakeService, Mockito.never()).accept(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(orderGroupCommitter, orderService);
+    }
+
+    @Test
+    void createOrdersInBatchSuccessfully() throws Exception {
+        String customerId = "123";
+        CreateOrderRequest first = new CreateOrderRequest(List.of(new OrderItemRequest("Laptop", 1, 1, new BigDecimal("5000.00"))));
+        CreateOrderRequest second = new CreateOrderRequest(List.of(new OrderItemRequest("Mouse", 2, 3, new BigDecimal("25.00"))));
+
+        Order firstEntity = new Order();
+        firstEntity.setId(1L);
+        Order secondEntity = new Order();
+        secondEntity.setId(2L);
+
+        Mockito.when(orderMapper.toEntity(first, customerId)).thenReturn(firstEntity);
+        Mockito.when(orderMapper.toEntity(second, customerId)).thenReturn(secondEntity);
+        Mockito.when(orderService.createOrders(List.of(firstEntity, secondEntity))).thenReturn(List.of(firstEntity, secondEntity));
+        Mockito.when(orderMapper.toCreateOrderResponse(firstEntity)).thenReturn(new CreateOrderResponse(1L));
+        Mockito.when(orderMapper.toCreateOrderResponse(secondEntity)).thenReturn(new CreateOrderResponse(2L));
+
+        mockMvc.perform(post("/api/orders/batch")
+                        .header("X-Customer-Id", customerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchCreateOrderRequest(List.of(first, second)))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.message").value("Orders placed successfully"))
+                .andExpect(jsonPath("$.data[0].orderId").value(1))
+                .andExpect(jsonPath("$.data[1].orderId").value(2));
+    }
+
+    @Test
+    void throwBadRequestWhenBatchContainsInvalidOrder() throws Exception {
+        CreateOrderRequest valid = new CreateOrderRequest(List.of(new OrderItemRequest("Laptop", 1, 1, new BigDecimal("5000.00"))));
+        CreateOrderRequest invalid = new CreateOrderRequest(Collections.emptyList());
+
+        mockMvc.perform(post("/api/orders/batch")
+                        .header("X-Customer-Id", "123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchCreateOrderRequest(List.of(valid, invalid)))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Validation failed"))
+                .andExpect(jsonPath("$.data['orders[1].items']").value("Order must contain at least one item"));
+
+        Mockito.verifyNoInteractions(orderService);
+    }
+
     @Test
     void retrieveOrderByIdSuccessfully() throws Exception {
         Long orderId = 1L;
         String customerId = "123";
 
-        Order orderEntity = new Order();
-        orderEntity.setId(orderId);
-        orderEntity.setCustomerId(customerId);
-        orderEntity.setStatus(OrderStatus.PENDING);
-
         OrderItemResponse itemResponse = new OrderItemResponse("Mouse", new BigDecimal("500.00"), 1, 1);
         OrderResponse responseDto = new OrderResponse(orderId, customerId, OrderStatus.PENDING,
-                new BigDecimal("500.00"), Instant.now(), List.of(itemResponse));
+                new BigDecimal("500.00"), 1, Instant.now(), List.of(itemResponse));
 
-        Mockito.when(orderService.getOrderById(orderId)).thenReturn(orderEntity);
-        Mockito.when(orderMapper.toGetOrderResponse(orderEntity)).thenReturn(responseDto);
+        Mockito.when(orderService.getOrderResponse(orderId)).thenReturn(responseDto);
 
         MvcResult result = mockMvc.perform(get("/api/orders/{orderId}", orderId)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -167,7 +347,7 @@ public class OrderControllerTest {
     @Test
     void throwNotFoundExceptionWhenOrderIsNotFound() throws Exception {
         Long orderId = 1L;
-        Mockito.when(orderService.getOrderById(orderId))
+        Mockito.when(orderService.getOrderResponse(orderId))
                 .thenThrow(new ResourceNotFoundException("Order Not Found"));
 
         mockMvc.perform(get("/api/orders/{orderId}", orderId)
@@ -186,9 +366,10 @@ public class OrderControllerTest {
 
         OrderItemResponse itemResponse = new OrderItemResponse("Mouse", new BigDecimal("500.00"), 1, 1);
         OrderResponse responseDto = new OrderResponse(1L, "123", OrderStatus.PENDING,
-                new BigDecimal("500.00"), Instant.now(), List.of(itemResponse));
+                new BigDecimal("500.00"), 1, Instant.now(), List.of(itemResponse));
 
-        Mockito.when(orderService.getAllOrders(null)).thenReturn(List.of(orderEntity));
+        Mockito.when(orderService.getAllOrders(null, null, null))
+                .thenReturn(new CursorPage<>(List.of(orderEntity), "next-page"));
         Mockito.when(orderMapper.toGetOrderResponse(orderEntity)).thenReturn(responseDto);
 
         MvcResult result = mockMvc.perform(get("/api/orders")
@@ -204,6 +385,122 @@ public class OrderControllerTest {
 
         Assertions.assertEquals("All orders retrieved successfully", apiResponse.message());
         Assertions.assertEquals(1, apiResponse.data().size());
+        Assertions.assertEquals("next-page", apiResponse.nextCursor());
+    }
+
+    @Test
+    void getAllOrdersWithoutItems() throws Exception {
+        Order orderEntity = new Order();
+        orderEntity.setId(1L);
+
+        Mockito.when(orderService.getAllOrders(null, null, null))
+                .thenReturn(new CursorPage<>(List.of(orderEntity), null));
+        Mockito.when(orderMapper.toOrderTotalsResponse(orderEntity)).thenReturn(new OrderResponse(1L, "123",
+                OrderStatus.PENDING, new BigDecimal("500.00"), 2, Instant.now(), null));
+
+        mockMvc.perform(get("/api/orders").param("includeItems", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].totalAmount").value(500.00))
+                .andExpect(jsonPath("$.data[0].itemCount").value(2))
+                .andExpect(jsonPath("$.data[0].items").doesNotExist());
+
+        Mockito.verify(orderMapper, Mockito.never()).toGetOrderResponse(Mockito.any());
+    }
+
+    @Test
+    void getCustomerOrdersSuccessfully() throws Exception {
+        Order orderEntity = new Order("123");
+        orderEntity.setId(1L);
+
+        Mockito.when(orderService.getCustomerOrders("123", null, null))
+                .thenReturn(new CursorPage<>(List.of(orderEntity), null));
+        Mockito.when(orderMapper.toGetOrderResponse(orderEntity)).thenReturn(new OrderResponse(1L, "123",
+                OrderStatus.PENDING, new BigDecimal("500.00"), 0, Instant.now(), List.of()));
+
+        mockMvc.perform(get("/api/orders/mine").header("X-Customer-Id", "123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Customer orders retrieved successfully"))
+                .andExpect(jsonPath("$.data[0].customerId").value("123"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getOrderSummariesSuccessfully() throws Exception {
+        Mockito.when(orderService.getOrderSummaries(OrderStatus.PENDING, null, 20))
+                .thenReturn(new CursorPage<>(List.of(new OrderSummaryResponse(1L, "123", OrderStatus.PENDING,
+                        new BigDecimal("500.00"), Instant.now())), "next-page"));
+
+        mockMvc.perform(get("/api/orders/summary").param("status", "PENDING").param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Order summaries retrieved successfully"))
+                .andExpect(jsonPath("$.data[0].orderId").value(1))
+                .andExpect(jsonPath("$.data[0].totalAmount").value(500.00))
+                .andExpect(jsonPath("$.nextCursor").value("next-page"));
+
+        Mockito.verifyNoInteractions(orderMapper);
+    }
+
+    @Test
+    void getStatusCountsFromCounters() throws Exception {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        counts.put(OrderStatus.PENDING, 3L);
+        counts.put(OrderStatus.CANCELLED, 1L);
+        Mockito.when(orderStatusCounters.snapshot()).thenReturn(counts);
+
+        mockMvc.perform(get("/api/orders/stats/status-counts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Status counts retrieved successfully"))
+                .andExpect(jsonPath("$.data.PENDING").value(3))
+                .andExpect(jsonPath("$.data.CANCELLED").value(1));
+
+        Mockito.verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void throwBadRequestWhenCursorIsInvalid() throws Exception {
+        Mockito.when(orderService.getAllOrders(null, "broken", 10))
+                .thenThrow(new InvalidRequestParameterException("after", "Invalid cursor"));
+
+        mockMvc.perform(get("/api/orders")
+                        .param("after", "broken")
+                        .param("limit", "10"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid parameter"))
+                .andExpect(jsonPath("$.data.after").value("Invalid cursor"));
+    }
+
+    @Test
+    void exportOrdersAsNdjson() throws Exception {
+        Order first = new Order();
+        first.setId(1L);
+        Order second = new Order();
+        second.setId(2L);
+
+        Mockito.when(orderService.exportOrders(Mockito.eq(OrderStatus.PENDING), Mockito.any()))
+                .thenAnswer(invocation -> {
+                    Consumer<Order> consumer = invocation.getArgument(1);
+                    consumer.accept(first);
+                    consumer.accept(second);
+                    return 2L;
+                });
+        Mockito.when(orderMapper.toGetOrderResponse(first)).thenReturn(new OrderResponse(1L, "123",
+                OrderStatus.PENDING, new BigDecimal("500.00"), 0, Instant.now(), List.of()));
+        Mockito.when(orderMapper.toGetOrderResponse(second)).thenReturn(new OrderResponse(2L, "456",
+                OrderStatus.PENDING, new BigDecimal("100.00"), 0, Instant.now(), List.of()));
+
+        MvcResult asyncResult = mockMvc.perform(get("/api/orders/export").param("status", "PENDING"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        Assertions.assertEquals(MediaType.APPLICATION_NDJSON_VALUE, result.getResponse().getContentType());
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertEquals(1L, objectMapper.readValue(lines[0], OrderResponse.class).orderId());
+        Assertions.assertEquals(2L, objectMapper.readValue(lines[1], OrderResponse.class).orderId());
     }
 
     @Test
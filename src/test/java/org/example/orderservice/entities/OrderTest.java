@@ -0,0 +1,41 @@
+package org.example.orderservice.entities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderTest {
+
+    @Test
+    void addItemsMergesLinesForTheSameProduct() {
+        Order order = new Order("123");
+
+        order.addItems(List.of(
+                new OrderItem(1, "Laptop", 1, new BigDecimal("5000.00")),
+                new OrderItem(2, "Mouse", 2, new BigDecimal("25.00")),
+                new OrderItem(1, "Laptop", 2, new BigDecimal("5000.00"))));
+
+        Assertions.assertEquals(2, order.getItems().size());
+        Assertions.assertEquals(2, order.getItemCount());
+        Assertions.assertEquals(3, order.getItems().get(0).getQuantity());
+        Assertions.assertEquals(new BigDecimal("15050.00"), order.getTotalAmount());
+    }
+
+    @Test
+    void addItemMergesIntoLinesReplacedBySetItems() {
+        Order order = new Order("123");
+        order.addItem(new OrderItem(1, "Laptop", 1, new BigDecimal("5000.00")));
+
+        OrderItem mouse = new OrderItem(2, "Mouse", 1, new BigDecimal("25.00"));
+        order.setItems(new ArrayList<>(List.of(mouse)));
+        order.addItem(new OrderItem(2, "Mouse", 3, new BigDecimal("25.00")));
+        order.addItem(new OrderItem(1, "Laptop", 1, new BigDecimal("5000.00")));
+
+        Assertions.assertEquals(2, order.getItems().size());
+        Assertions.assertEquals(4, mouse.getQuantity());
+        Assertions.assertEquals(new BigDecimal("5100.00"), order.getTotalAmount());
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.orderservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.orderservice.dto.request.CreateOrderRequest;
+import org.example.orderservice.dto.request.OrderItemRequest;
+import org.example.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the Prometheus scrape carries the request, repository, pool and order meters
+ * with histogram buckets.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+public class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setup() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void prometheusScrapeExposesOrderMetrics() throws Exception {
+        CreateOrderRequest request = new CreateOrderRequest(List.of(
+                new OrderItemRequest("Laptop", 1, 1, new BigDecimal("5000.00")),
+                new OrderItemRequest("Mouse", 2, 3, new BigDecimal("25.00"))));
+        mockMvc.perform(post("/api/orders")
+                        .header("X-Customer-Id", "123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("uri=\"/api/orders\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds_bucket{")))
+                .andExpect(content().string(containsString("orders_created_items_count 1")))
+                .andExpect(content().string(containsString("orders_created_items_bucket{")));
+    }
+}
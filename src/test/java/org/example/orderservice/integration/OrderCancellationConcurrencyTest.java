@@ -0,0 +1,161 @@
+package org.example.orderservice.integration;
+
+import org.example.orderservice.configuration.OrderProcessingProperties;
+import org.example.orderservice.configuration.WorkerThreads;
+import org.example.orderservice.entities.Order;
+import org.example.orderservice.entities.OrderItem;
+import org.example.orderservice.entities.OrderStatus;
+import org.example.orderservice.exception.OrderCancellationException;
+import org.example.orderservice.jobs.OrderProcessingScheduler;
+import org.example.orderservice.jobs.PendingOrderProcessor;
+import org.example.orderservice.metrics.OrderMetrics;
+import org.example.orderservice.repository.OrderRepository;
+import org.example.orderservice.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Races customer cancellations and competing processors against each other. Every order must
+ * end up either cancelled (and its cancel call succeeded) or processed (and its cancel call was
+ * rejected), never both, and no order may be processed twice.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderCancellationConcurrencyTest {
+
+    private static final int ORDER_COUNT = 300;
+    private static final int CANCEL_THREADS = 8;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderProcessingScheduler orderProcessingScheduler;
+
+    @Autowired
+    private OrderProcessingProperties orderProcessingProperties;
+
+    @Autowired
+    private OrderMetrics orderMetrics;
+
+    @Autowired
+    private WorkerThreads workerThreads;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setup() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void cancellationsAndSchedulerNeverBothWin() throws Exception {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = new Order("customer-" + (i % 10));
+            order.addItem(new OrderItem(1, "Laptop", 1, new BigDecimal("5000.00")));
+            orders.add(order);
+        }
+        List<Order> saved = orderRepository.saveAll(orders);
+
+        Set<Long> cancelled = ConcurrentHashMap.newKeySet();
+        Set<Long> rejected = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CANCEL_THREADS + 1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Order order : saved) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.cancelOrder(order.getId(), order.getCustomerId());
+                        cancelled.add(order.getId());
+                    } catch (OrderCancellationException ex) {
+                        rejected.add(order.getId());
+                    }
+                    return null;
+                }));
+            }
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int run = 0; run < 5; run++) {
+                    orderProcessingScheduler.processPendingOrders();
+                }
+                return null;
+            }));
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        orderProcessingScheduler.processPendingOrders();
+
+        Map<Long, Order> persisted = orderRepository.findAllById(saved.stream().map(Order::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        assertEquals(ORDER_COUNT, cancelled.size() + rejected.size());
+        for (Order order : persisted.values()) {
+            if (cancelled.contains(order.getId())) {
+                assertEquals(OrderStatus.CANCELLED, order.getStatus(), "order " + order.getId());
+            } else {
+                assertTrue(rejected.contains(order.getId()));
+                assertEquals(OrderStatus.PROCESSING, order.getStatus(), "order " + order.getId());
+            }
+            assertEquals(1, order.getVersion(), "order " + order.getId());
+        }
+    }
+
+    @Test
+    void competingProcessorsShareBacklogWithoutDoubleProcessing() throws Exception {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT * 3; i++) {
+            Order order = new Order("customer-" + (i % 10));
+            order.addItem(new OrderItem(1, "Laptop", 1, new BigDecimal("5000.00")));
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+
+        // Two processors with their own worker pools stand in for two service instances
+        PendingOrderProcessor first = new PendingOrderProcessor(orderService, orderProcessingProperties, orderMetrics, workerThreads);
+        PendingOrderProcessor second = new PendingOrderProcessor(orderService, orderProcessingProperties, orderMetrics, workerThreads);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> firstRun = executor.submit(first::processBacklog);
+            Future<Integer> secondRun = executor.submit(second::processBacklog);
+
+            assertEquals(ORDER_COUNT * 3, firstRun.get() + secondRun.get());
+        } finally {
+            executor.shutdownNow();
+            first.destroy();
+            second.destroy();
+        }
+
+        List<Order> persisted = orderRepository.findAll();
+        assertTrue(persisted.stream().allMatch(order -> order.getStatus() == OrderStatus.PROCESSING));
+        assertTrue(persisted.stream().allMatch(order -> order.getVersion() == 1));
+    }
+}
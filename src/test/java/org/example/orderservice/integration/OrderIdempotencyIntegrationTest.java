@@ -0,0 +1,192 @@
+package org.example.orderservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.orderservice.configuration.OrderIdempotencyProperties;
+import org.example.orderservice.dto.request.CreateOrderRequest;
+import org.example.orderservice.dto.request.OrderItemRequest;
+import org.example.orderservice.dto.response.CreateOrderResponse;
+import org.example.orderservice.entities.Order;
+import org.example.orderservice.entities.OrderItem;
+import org.example.orderservice.repository.OrderRepository;
+import org.example.orderservice.service.OrderIdempotencyService;
+import org.example.orderservice.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class OrderIdempotencyIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderIdempotencyProperties orderIdempotencyProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void retriedCreateWithSameKeyReturnsOriginalOrder() throws Exception {
+        CreateOrderRequest request = new CreateOrderRequest(List.of(
+                new OrderItemRequest("Laptop", 1, 2, new BigDecimal("5000.00"))));
+        String body = objectMapper.writeValueAsString(request);
+
+        Long firstId = createOrder("retry-1", body);
+        Long retriedId = createOrder("retry-1", body);
+
+        assertEquals(firstId, retriedId);
+        assertEquals(1, orderRepository.count());
+    }
+
+    @Test
+    void replayedKeySkipsValidationOfTheBody() throws Exception {
+        String body = objectMapper.writeValueAsString(new CreateOrderRequest(List.of(
+                new OrderItemRequest("Laptop", 1, 2, new BigDecimal("5000.00")))));
+        Long firstId = createOrder("retry-2", body);
+
+        mockMvc.perform(post("/api/orders")
+                        .header("X-Customer-Id", "123")
+                        .header("Idempotency-Key", "retry-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.orderId").value(firstId));
+    }
+
+    @Test
+    void keyIsAnsweredFromDatabaseWhenNotInMemory() throws Exception {
+        String body = objectMapper.writeValueAsString(new CreateOrderRequest(List.of(
+                new OrderItemRequest("Laptop", 1, 2, new BigDecimal("5000.00")))));
+        Long firstId = createOrder("retry-3", body);
+
+        // A second instance has never seen the key in memory
+        OrderIdempotencyService otherInstance = new OrderIdempotencyService(orderService, orderIdempotencyProperties);
+        CreateOrderResponse replayed = otherInstance.createOnce("123", "retry-3", () -> {
+            throw new AssertionError("Order must not be created again");
+        });
+
+        assertEquals(firstId, replayed.orderId());
+    }
+
+    @Test
+    void instancesRacingOnSameKeyCreateOneOrder() throws Exception {
+        OrderIdempotencyService first = new OrderIdempotencyService(orderService, orderIdempotencyProperties);
+        OrderIdempotencyService second = new OrderIdempotencyService(orderService, orderIdempotencyProperties);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<CreateOrderResponse> a = CompletableFuture.supplyAsync(() -> create(first, start), executor);
+            CompletableFuture<CreateOrderResponse> b = CompletableFuture.supplyAsync(() -> create(second, start), executor);
+            start.countDown();
+
+            assertEquals(a.join().orderId(), b.join().orderId());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, orderRepository.count());
+    }
+
+    @Test
+    void expiredKeyNotYetPurgedCanBeReused() {
+        Order expired = orderService.createOrder(newOrder(), "reuse-1");
+        jdbcTemplate.update("UPDATE order_idempotency_keys SET created_at = ? WHERE idempotency_key = 'reuse-1'",
+                Timestamp.from(Instant.now().minus(orderIdempotencyProperties.timeToLive()).minusSeconds(60)));
+
+        // A fresh instance, so the key is not answered from memory either
+        OrderIdempotencyService instance = new OrderIdempotencyService(orderService, orderIdempotencyProperties);
+        CreateOrderResponse response = instance.createOnce("123", "reuse-1",
+                () -> new CreateOrderResponse(orderService.createOrder(newOrder(), "reuse-1").getId()));
+
+        assertNotEquals(expired.getId(), response.orderId());
+        assertEquals(response.orderId(), orderService.findOrderIdByIdempotencyKey("123", "reuse-1",
+                Instant.now().minus(orderIdempotencyProperties.timeToLive())).orElseThrow());
+    }
+
+    @Test
+    void orderGroupSkipsOrdersWhoseKeyIsTaken() {
+        Order existing = orderService.createOrder(newOrder(), "group-1");
+        Order withoutKey = newOrder();
+        Order replayed = newOrder();
+        Order fresh = newOrder();
+
+        List<Order> created = orderService.createOrderGroup(List.of(withoutKey, replayed, fresh),
+                Arrays.asList(null, "group-1", "group-2"));
+
+        assertEquals(List.of(withoutKey, fresh), created);
+        assertEquals(3, orderRepository.count());
+        assertEquals(existing.getId(), orderService.findOrderIdByIdempotencyKey("123", "group-1",
+                Instant.EPOCH).orElseThrow());
+    }
+
+    private CreateOrderResponse create(OrderIdempotencyService instance, CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return instance.createOnce("123", "race-1",
+                () -> new CreateOrderResponse(orderService.createOrder(newOrder(), "race-1").getId()));
+    }
+
+    private Order newOrder() {
+        OrderItem item = new OrderItem();
+        item.setProductId(1);
+        item.setProductName("Laptop");
+        item.setQuantity(1);
+        item.setProductPrice(new BigDecimal("5000.00"));
+        Order order = new Order("123");
+        order.addItem(item);
+        return order;
+    }
+
+    private Long createOrder(String idempotencyKey, String body) throws Exception {
+        String response = mockMvc.perform(post("/api/orders")
+                        .header("X-Customer-Id", "123")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).path("data").path("orderId").asLong();
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.orderservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.orderservice.dto.request.CreateOrderRequest;
+import org.example.orderservice.dto.request.OrderItemRequest;
+import org.example.orderservice.repository.OrderRepository;
+import org.example.orderservice.support.Await;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "orders.journal.enabled=true",
+        "orders.journal.directory=target/order-journal-test",
+        "orders.journal.segment-size=1MB"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class OrderIntakeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setup() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void acceptedOrderIsPersistedAndResolvable() throws Exception {
+        String body = objectMapper.writeValueAsString(new CreateOrderRequest(List.of(
+                new OrderItemRequest("Laptop", 1, 2, new BigDecimal("5000.00")))));
+
+        String accepted = mockMvc.perform(post("/api/orders")
+                        .header("X-Customer-Id", "123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        String intakeId = objectMapper.readTree(accepted).path("data").path("intakeId").asText();
+
+        MvcResult result = Await.until(
+                () -> mockMvc.perform(get("/api/orders/intake/" + intakeId).header("X-Customer-Id", "123")).andReturn(),
+                polled -> polled.getResponse().getStatus() != HttpStatus.ACCEPTED.value());
+
+        assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus());
+        long orderId = objectMapper.readTree(result.getResponse().getContentAsString()).path("data").path("orderId").asLong();
+        assertTrue(orderRepository.findById(orderId).isPresent());
+    }
+
+    @Test
+    void keyedCreateBypassesTheJournal() throws Exception {
+        String body = objectMapper.writeValueAsString(new CreateOrderRequest(List.of(
+                new OrderItemRequest("Laptop", 1, 2, new BigDecimal("5000.00")))));
+
+        mockMvc.perform(post("/api/orders")
+                        .header("X-Customer-Id", "123")
+                        .header("Idempotency-Key", "journal-bypass")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+    }
+}
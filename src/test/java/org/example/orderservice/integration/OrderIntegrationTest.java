@@ -6,20 +6,28 @@ import org.example.orderservice.dto.ApiResponse;
 import org.example.orderservice.dto.request.CreateOrderRequest;
 import org.example.orderservice.dto.request.OrderItemRequest;
 import org.example.orderservice.dto.response.CreateOrderResponse;
+import org.example.orderservice.dto.response.OrderChangeResponse;
 import org.example.orderservice.dto.response.OrderResponse;
+import org.example.orderservice.entities.OrderItem;
 import org.example.orderservice.entities.OrderStatus;
 import org.example.orderservice.repository.OrderRepository;
+import org.example.orderservice.service.OrderService;
+import org.example.orderservice.stats.OrderStatusCounters;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,9 +48,16 @@ public class OrderIntegrationTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderStatusCounters orderStatusCounters;
+
+    @Autowired
+    private OrderService orderService;
+
     @BeforeEach
     void setup() {
         orderRepository.deleteAll();
+        orderStatusCounters.reconcile();
     }
 
     @Test
@@ -145,6 +160,112 @@ public class OrderIntegrationTest {
         assertEquals(2, ordersResponse.data().size());
     }
 
+    @Test
+    void shouldPageThroughOrdersWithCursor() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            OrderItemRequest item = new OrderItemRequest("Item " + i, i, 1, new BigDecimal("10.00"));
+            mockMvc.perform(post("/api/orders")
+                            .header("X-Customer-Id", "123")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CreateOrderRequest(List.of(item)))))
+                    .andExpect(status().isCreated());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            var request = get("/api/orders").param("limit", "2");
+            if (after != null) {
+                request.param("after", after);
+            }
+            MvcResult result = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            ApiResponse<List<OrderResponse>> page = objectMapper.readValue(
+                    result.getResponse().getContentAsString(),
+                    new TypeReference<ApiResponse<List<OrderResponse>>>() {}
+            );
+            page.data().forEach(order -> seen.add(order.orderId()));
+            after = page.nextCursor();
+            pages++;
+        } while (after != null);
+
+        assertEquals(3, pages);
+        assertEquals(5, seen.size());
+        assertEquals(5, seen.stream().distinct().count());
+        List<Long> newestFirst = seen.stream().sorted(Comparator.reverseOrder()).toList();
+        assertEquals(newestFirst, seen);
+    }
+
+    @Test
+    void shouldPageThroughOnlyTheCallersOrders() throws Exception {
+        for (String customerId : List.of("123", "456", "123", "456", "123")) {
+            OrderItemRequest item = new OrderItemRequest("Laptop", 1, 1, new BigDecimal("5000.00"));
+            mockMvc.perform(post("/api/orders")
+                            .header("X-Customer-Id", customerId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CreateOrderRequest(List.of(item)))))
+                    .andExpect(status().isCreated());
+        }
+
+        List<OrderResponse> seen = new ArrayList<>();
+        String after = null;
+        do {
+            var request = get("/api/orders/mine").header("X-Customer-Id", "123").param("limit", "2");
+            if (after != null) {
+                request.param("after", after);
+            }
+            MvcResult result = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            ApiResponse<List<OrderResponse>> page = objectMapper.readValue(
+                    result.getResponse().getContentAsString(),
+                    new TypeReference<ApiResponse<List<OrderResponse>>>() {}
+            );
+            seen.addAll(page.data());
+            after = page.nextCursor();
+        } while (after != null);
+
+        assertEquals(3, seen.size());
+        assertTrue(seen.stream().allMatch(order -> order.customerId().equals("123")));
+    }
+
+    @Test
+    void shouldExportOrdersAsNdjson() throws Exception {
+        for (String customerId : List.of("123", "456", "789")) {
+            OrderItemRequest item = new OrderItemRequest("Laptop", 1, 1, new BigDecimal("5000.00"));
+            mockMvc.perform(post("/api/orders")
+                            .header("X-Customer-Id", customerId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CreateOrderRequest(List.of(item)))))
+                    .andExpect(status().isCreated());
+        }
+
+        MvcResult asyncResult = mockMvc.perform(get("/api/orders/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<OrderResponse> exported = body.lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, OrderResponse.class);
+                    } catch (Exception ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                })
+                .toList();
+
+        assertEquals(3, exported.size());
+        assertTrue(exported.stream().allMatch(order -> order.items().size() == 1));
+    }
+
     @Test
     void shouldCancelOrderSuccessfully() throws Exception {
         String customerId = "123";
@@ -171,5 +292,91 @@ public class OrderIntegrationTest {
 
         org.example.orderservice.entities.Order orderEntity = orderRepository.findById(orderId).get();
         assertEquals(OrderStatus.CANCELLED, orderEntity.getStatus());
+        assertTrue(orderEntity.getUpdatedAt().isAfter(orderEntity.getCreatedAt()));
+    }
+
+    @Test
+    void shouldListChangedOrdersAfterWatermark() {
+        org.example.orderservice.entities.Order first = orderService.createOrder(newOrder("changes-1"));
+        org.example.orderservice.entities.Order second = orderService.createOrder(newOrder("changes-1"));
+        Instant afterCreates = orderRepository.findById(second.getId()).get().getUpdatedAt();
+
+        orderService.processPendingChunk(10);
+
+        List<OrderChangeResponse> changes = orderRepository.findChangesAfter(afterCreates, second.getId(),
+                Instant.now().plusSeconds(1), Limit.of(10));
+        assertEquals(List.of(first.getId(), second.getId()), changes.stream().map(OrderChangeResponse::orderId).toList());
+        assertTrue(changes.stream().allMatch(change -> change.status() == OrderStatus.PROCESSING));
+        assertTrue(changes.stream().allMatch(change -> change.updatedAt().isAfter(afterCreates)));
+    }
+
+    @Test
+    void shouldNotServeStaleCachedOrderAfterCancellation() throws Exception {
+        String customerId = "123";
+        OrderItemRequest item = new OrderItemRequest("Laptop", 1, 1, new BigDecimal("5000.00"));
+
+        MvcResult createResult = mockMvc.perform(post("/api/orders")
+                        .header("X-Customer-Id", customerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateOrderRequest(List.of(item)))))
+                .andReturn();
+        Long orderId = objectMapper.readValue(
+                createResult.getResponse().getContentAsString(),
+                new TypeReference<ApiResponse<CreateOrderResponse>>() {}
+        ).data().orderId();
+
+        mockMvc.perform(get("/api/orders/{orderId}", orderId))
+                .andExpect(jsonPath("$.data.status").value("PENDING"));
+
+        mockMvc.perform(patch("/api/orders/{orderId}/cancel", orderId)
+                        .header("X-Customer-Id", customerId))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/orders/{orderId}", orderId))
+                .andExpect(jsonPath("$.data.status").value("CANCELLED"));
+    }
+
+    @Test
+    void shouldTrackStatusCountsThroughCreateAndCancel() throws Exception {
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            OrderItemRequest item = new OrderItemRequest("Laptop", 1, 1, new BigDecimal("5000.00"));
+            MvcResult createResult = mockMvc.perform(post("/api/orders")
+                            .header("X-Customer-Id", "123")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CreateOrderRequest(List.of(item)))))
+                    .andReturn();
+            orderIds.add(objectMapper.readValue(
+                    createResult.getResponse().getContentAsString(),
+                    new TypeReference<ApiResponse<CreateOrderResponse>>() {}
+            ).data().orderId());
+        }
+
+        mockMvc.perform(patch("/api/orders/{orderId}/cancel", orderIds.get(0))
+                        .header("X-Customer-Id", "123"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/orders/stats/status-counts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.PENDING").value(2))
+                .andExpect(jsonPath("$.data.CANCELLED").value(1))
+                .andExpect(jsonPath("$.data.PROCESSING").value(0));
+
+        orderStatusCounters.reconcile();
+
+        mockMvc.perform(get("/api/orders/stats/status-counts"))
+                .andExpect(jsonPath("$.data.PENDING").value(2))
+                .andExpect(jsonPath("$.data.CANCELLED").value(1));
+    }
+
+    private static org.example.orderservice.entities.Order newOrder(String customerId) {
+        OrderItem item = new OrderItem();
+        item.setProductId(1);
+        item.setProductName("Laptop");
+        item.setQuantity(1);
+        item.setProductPrice(new BigDecimal("5000.00"));
+        org.example.orderservice.entities.Order order = new org.example.orderservice.entities.Order(customerId);
+        order.addItem(item);
+        return order;
     }
 }
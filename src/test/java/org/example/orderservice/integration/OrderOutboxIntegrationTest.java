@@ -0,0 +1,110 @@
+package org.example.orderservice.integration;
+
+import org.example.orderservice.entities.Order;
+import org.example.orderservice.entities.OrderEventType;
+import org.example.orderservice.entities.OrderItem;
+import org.example.orderservice.entities.OrderOutboxEntry;
+import org.example.orderservice.entities.OrderStatus;
+import org.example.orderservice.outbox.InMemoryOrderEventPublisher;
+import org.example.orderservice.outbox.OrderEvent;
+import org.example.orderservice.repository.OrderOutboxRepository;
+import org.example.orderservice.service.OrderOutboxService;
+import org.example.orderservice.service.OrderService;
+import org.example.orderservice.support.Await;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderOutboxIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderOutboxService outboxService;
+
+    @Autowired
+    private OrderOutboxRepository outboxRepository;
+
+    @Autowired
+    private InMemoryOrderEventPublisher publisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void createAndCancelArePublishedInOrder() throws Exception {
+        Order order = orderService.createOrder(newOrder("outbox-1"));
+        orderService.cancelOrder(order.getId(), "outbox-1");
+
+        List<OrderEvent> events = Await.published(publisher, event -> event.orderId() == order.getId(), 2);
+        assertEquals(OrderEventType.ORDER_CREATED, events.get(0).type());
+        assertEquals(OrderStatus.PENDING, events.get(0).status());
+        assertEquals(OrderEventType.ORDER_STATUS_CHANGED, events.get(1).type());
+        assertEquals(OrderStatus.PENDING, events.get(1).previousStatus());
+        assertEquals(OrderStatus.CANCELLED, events.get(1).status());
+        assertEquals("outbox-1", events.get(1).customerId());
+        assertTrue(events.get(0).id() < events.get(1).id());
+    }
+
+    @Test
+    void eventsOfARolledBackTransactionAreNeverWritten() {
+        Order order = orderService.createOrder(newOrder("outbox-2"));
+
+        assertThrows(RuntimeException.class, () -> orderService.cancelOrder(order.getId(), "someone-else"));
+
+        assertTrue(outboxRepository.findAll().stream()
+                .filter(entry -> entry.getOrderId().equals(order.getId()))
+                .noneMatch(entry -> entry.getEventType() == OrderEventType.ORDER_STATUS_CHANGED));
+    }
+
+    @Test
+    void failedPublishLeavesBatchUnpublished() throws Exception {
+        Order order = orderService.createOrder(newOrder("outbox-3"));
+        Await.published(publisher, event -> event.orderId() == order.getId(), 1);
+
+        // Written without an event, so the background relay is not woken for it
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.insertEvents(List.of(order.getId()),
+                OrderEventType.ORDER_STATUS_CHANGED.name(), OrderStatus.PENDING.name(), OrderStatus.PROCESSING.name()));
+
+        assertThrows(IllegalStateException.class, () -> outboxService.relayBatch(100, events -> {
+            throw new IllegalStateException("Broker down");
+        }));
+        assertEquals(1, unpublishedCount(order.getId()));
+
+        List<OrderEvent> relayed = new ArrayList<>();
+        outboxService.relayBatch(100, relayed::addAll);
+        assertTrue(relayed.stream().anyMatch(event -> event.orderId() == order.getId()
+                && event.status() == OrderStatus.PROCESSING));
+        assertEquals(0, unpublishedCount(order.getId()));
+    }
+
+    private long unpublishedCount(Long orderId) {
+        return outboxRepository.findAll().stream()
+                .filter(entry -> entry.getOrderId().equals(orderId))
+                .map(OrderOutboxEntry::getPublishedAt)
+                .filter(publishedAt -> publishedAt == null)
+                .count();
+    }
+
+    private static Order newOrder(String customerId) {
+        OrderItem item = new OrderItem();
+        item.setProductId(1);
+        item.setProductName("Laptop");
+        item.setQuantity(1);
+        item.setProductPrice(new BigDecimal("5000.00"));
+        Order order = new Order(customerId);
+        order.addItem(item);
+        return order;
+    }
+}
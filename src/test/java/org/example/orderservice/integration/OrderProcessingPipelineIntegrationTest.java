@@ -0,0 +1,62 @@
+package org.example.orderservice.integration;
+
+import org.example.orderservice.entities.Order;
+import org.example.orderservice.entities.OrderItem;
+import org.example.orderservice.entities.OrderStatus;
+import org.example.orderservice.repository.OrderRepository;
+import org.example.orderservice.service.OrderService;
+import org.example.orderservice.support.Await;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "orders.pipeline.enabled=true")
+@ActiveProfiles("test")
+public class OrderProcessingPipelineIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setup() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void committedOrdersMoveToProcessingWithoutWaitingForTheSweep() throws Exception {
+        Order single = orderService.createOrder(newOrder());
+        List<Order> batch = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            batch.add(newOrder());
+        }
+        orderService.createOrders(batch);
+
+        List<Order> pending = Await.until(() -> orderRepository.findOrderByStatus(OrderStatus.PENDING), List::isEmpty);
+
+        assertEquals(0, pending.size());
+        assertEquals(21, orderRepository.findOrderByStatus(OrderStatus.PROCESSING).size());
+        assertEquals(OrderStatus.PROCESSING, orderService.getOrderResponse(single.getId()).status());
+    }
+
+    private Order newOrder() {
+        Order order = new Order("pipeline-customer");
+        OrderItem item = new OrderItem();
+        item.setProductId(1);
+        item.setProductName("Keyboard");
+        item.setQuantity(1);
+        item.setProductPrice(new BigDecimal("49.99"));
+        order.addItem(item);
+        return order;
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.orderservice.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.orderservice.dto.request.BatchCreateOrderRequest;
+import org.example.orderservice.dto.request.CreateOrderRequest;
+import org.example.orderservice.dto.request.OrderItemRequest;
+import org.example.orderservice.entities.Order;
+import org.example.orderservice.entities.OrderItem;
+import org.example.orderservice.repository.OrderRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the endpoints against N+1 regressions: the number of JDBC statements per request
+ * must not depend on how many orders or items are read or written.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class OrderQueryCountIntegrationTest {
+
+    private static final int ORDER_COUNT = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<Long> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        orderRepository.deleteAll();
+        orderIds.clear();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = new Order("customer-" + i);
+            order.addItems(List.of(
+                    new OrderItem(1, "Laptop", 1, new BigDecimal("5000.00")),
+                    new OrderItem(2, "Mouse", 2, new BigDecimal("25.00")),
+                    new OrderItem(3, "Keyboard", 1, new BigDecimal("75.00"))));
+            orderIds.add(orderRepository.save(order).getId());
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void getOrderByIdUsesSingleStatementThenCache() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/orders/{orderId}", orderIds.get(0)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.items.length()").value(3));
+        }
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void listOrdersUsesConstantNumberOfStatements() throws Exception {
+        mockMvc.perform(get("/api/orders"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(ORDER_COUNT));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void listOrderTotalsNeverTouchesItems() throws Exception {
+        mockMvc.perform(get("/api/orders").param("includeItems", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(ORDER_COUNT))
+                .andExpect(jsonPath("$.data[0].totalAmount").value(5125.00))
+                .andExpect(jsonPath("$.data[0].itemCount").value(3))
+                .andExpect(jsonPath("$.data[0].items").doesNotExist());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void listOrderSummariesLoadsNoEntities() throws Exception {
+        mockMvc.perform(get("/api/orders/summary").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(5))
+                .andExpect(jsonPath("$.data[0].totalAmount").value(5125.00))
+                .andExpect(jsonPath("$.nextCursor").exists());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void batchCreateUsesHandfulOfStatements() throws Exception {
+        List<CreateOrderRequest> requests = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            requests.add(new CreateOrderRequest(List.of(
+                    new OrderItemRequest("Laptop", 1, 1, new BigDecimal("5000.00")),
+                    new OrderItemRequest("Mouse", 2, 2, new BigDecimal("25.00")),
+                    new OrderItemRequest("Keyboard", 3, 1, new BigDecimal("75.00")))));
+        }
+
+        mockMvc.perform(post("/api/orders/batch")
+                        .header("X-Customer-Id", "123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BatchCreateOrderRequest(requests))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.length()").value(ORDER_COUNT));
+
+        // One batched INSERT per table plus at most a few sequence block reservations
+        assertEquals(ORDER_COUNT * 4, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 6,
+                "Expected at most 6 statements but was " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void listOrdersByStatusUsesConstantNumberOfStatements() throws Exception {
+        mockMvc.perform(get("/api/orders").param("status", "PENDING").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(5));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.orderservice.integration;
+
+import org.example.orderservice.entities.Order;
+import org.example.orderservice.entities.OrderEventType;
+import org.example.orderservice.entities.OrderItem;
+import org.example.orderservice.outbox.InMemoryOrderEventPublisher;
+import org.example.orderservice.outbox.OrderEvent;
+import org.example.orderservice.service.OrderService;
+import org.example.orderservice.stream.OrderEventHub;
+import org.example.orderservice.support.Await;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class OrderStreamIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderEventHub orderEventHub;
+
+    @Autowired
+    private InMemoryOrderEventPublisher publisher;
+
+    @Test
+    void streamsOnlyTheCustomersOwnEvents() throws Exception {
+        MvcResult stream = openStream("stream-1", null);
+        try {
+            Order order = orderService.createOrder(newOrder("stream-1"));
+            Order otherOrder = orderService.createOrder(newOrder("stream-2"));
+            orderService.cancelOrder(order.getId(), "stream-1");
+
+            List<OrderEvent> events = Await.published(publisher, event -> event.orderId() == order.getId(), 2);
+            String body = awaitContent(stream, content -> content.contains("\"status\":\"CANCELLED\""));
+
+            assertTrue(body.contains("id:" + events.get(0).id() + "\nevent:order\n"));
+            assertTrue(body.contains("id:" + events.get(1).id() + "\nevent:order\n"));
+            assertTrue(body.indexOf("\"status\":\"PENDING\"") < body.indexOf("\"status\":\"CANCELLED\""));
+            assertFalse(body.contains("\"orderId\":" + otherOrder.getId() + ","));
+        } finally {
+            close(stream);
+        }
+    }
+
+    @Test
+    void resumesAfterLastEventId() throws Exception {
+        Order order = orderService.createOrder(newOrder("stream-3"));
+        orderService.cancelOrder(order.getId(), "stream-3");
+        List<OrderEvent> events = Await.published(publisher, event -> event.orderId() == order.getId(), 2);
+        assertEquals(OrderEventType.ORDER_CREATED, events.get(0).type());
+
+        MvcResult stream = openStream("stream-3", events.get(0).id());
+        try {
+            String body = awaitContent(stream, content -> content.contains("id:" + events.get(1).id() + "\n"));
+
+            assertFalse(body.contains("id:" + events.get(0).id() + "\n"));
+            assertTrue(body.contains("\"type\":\"ORDER_STATUS_CHANGED\""));
+        } finally {
+            close(stream);
+        }
+    }
+
+    @Test
+    void pagesThroughMoreMissedEventsThanTheReplayLimit() throws Exception {
+        // The test profile replays at most 5 events per connection
+        for (int i = 0; i < 8; i++) {
+            orderService.createOrder(newOrder("stream-5"));
+        }
+        List<OrderEvent> missed = Await.published(publisher, event -> event.customerId().equals("stream-5"), 8);
+        long before = orderEventHub.subscriberCount();
+
+        MvcResult firstPage = openStream("stream-5", missed.get(0).id() - 1);
+        String firstBody = firstPage.getResponse().getContentAsString();
+        for (int i = 0; i < 5; i++) {
+            assertTrue(firstBody.contains("id:" + missed.get(i).id() + "\n"));
+        }
+        assertFalse(firstBody.contains("id:" + missed.get(5).id() + "\n"));
+        assertEquals(before, orderEventHub.subscriberCount());
+
+        MvcResult secondPage = openStream("stream-5", missed.get(4).id());
+        try {
+            String secondBody = secondPage.getResponse().getContentAsString();
+            for (int i = 5; i < 8; i++) {
+                assertTrue(secondBody.contains("id:" + missed.get(i).id() + "\n"));
+            }
+            assertFalse(secondBody.contains("id:" + missed.get(4).id() + "\n"));
+            assertEquals(before + 1, orderEventHub.subscriberCount());
+        } finally {
+            close(secondPage);
+        }
+    }
+
+    @Test
+    void idleStreamsGetHeartbeatsAndClosedStreamsAreDropped() throws Exception {
+        long before = orderEventHub.subscriberCount();
+        MvcResult stream = openStream("stream-4", null);
+        assertEquals(before + 1, orderEventHub.subscriberCount());
+
+        awaitContent(stream, content -> content.contains(":heartbeat\n"));
+
+        close(stream);
+        assertEquals(before, orderEventHub.subscriberCount());
+    }
+
+    private MvcResult openStream(String customerId, Long lastEventId) throws Exception {
+        var builder = get("/api/orders/stream").header("X-Customer-Id", customerId);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static String awaitContent(MvcResult stream, Predicate<String> condition) throws Exception {
+        String content = Await.until(() -> stream.getResponse().getContentAsString(), condition);
+        assertTrue(condition.test(content), content);
+        return content;
+    }
+
+    private static void close(MvcResult stream) {
+        stream.getRequest().getAsyncContext().complete();
+    }
+
+    private static Order newOrder(String customerId) {
+        OrderItem item = new OrderItem();
+        item.setProductId(1);
+        item.setProductName("Laptop");
+        item.setQuantity(1);
+        item.setProductPrice(new BigDecimal("5000.00"));
+        Order order = new Order(customerId);
+        order.addItem(item);
+        return order;
+    }
+}
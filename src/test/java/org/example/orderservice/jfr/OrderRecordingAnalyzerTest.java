@@ -0,0 +1,96 @@
+package org.example.orderservice.jfr;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+public class OrderRecordingAnalyzerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void summarisesOrderEventsPerOperation() throws Exception {
+        Path file = tempDir.resolve("orders.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(OrderCreateEvent.class);
+            recording.enable(OrderFetchEvent.class);
+            recording.enable(OrderCancelEvent.class);
+            recording.enable(OrderProcessingEvent.class);
+            recording.start();
+
+            for (int i = 0; i < 3; i++) {
+                OrderCreateEvent create = new OrderCreateEvent();
+                create.begin();
+                create.orderCount = 1;
+                create.itemCount = 2;
+                create.mappingTime = 1_000_000;
+                create.dbTime = 4_000_000;
+                create.commit();
+            }
+
+            OrderCreateEvent journaled = new OrderCreateEvent();
+            journaled.orderCount = 1;
+            journaled.itemCount = 2;
+            journaled.journaled = true;
+            journaled.commit();
+
+            OrderFetchEvent hit = new OrderFetchEvent();
+            hit.orderId = 1;
+            hit.cacheHit = true;
+            hit.outcome = OrderFetchEvent.FOUND;
+            hit.commit();
+            OrderFetchEvent miss = new OrderFetchEvent();
+            miss.orderId = 2;
+            miss.outcome = OrderFetchEvent.FOUND;
+            miss.commit();
+            OrderFetchEvent notFound = new OrderFetchEvent();
+            notFound.orderId = 3;
+            notFound.outcome = OrderFetchEvent.NOT_FOUND;
+            notFound.commit();
+
+            OrderCancelEvent cancel = new OrderCancelEvent();
+            cancel.orderId = 1;
+            cancel.outcome = OrderCancelEvent.NOT_PENDING;
+            cancel.commit();
+
+            for (int rows : new int[]{100, 100, 40}) {
+                OrderProcessingEvent processing = new OrderProcessingEvent();
+                processing.source = OrderProcessingEvent.SWEEP;
+                processing.requested = 100;
+                processing.rowsUpdated = rows;
+                processing.commit();
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        String report = OrderRecordingAnalyzer.summarize(file);
+
+        Assertions.assertTrue(report.lines().anyMatch(line -> line.matches("create\\s+3\\s.*")), report);
+        Assertions.assertTrue(report.lines().anyMatch(line -> line.matches("create  database\\s+3\\s+4\\.000\\s.*")), report);
+        Assertions.assertTrue(report.lines().anyMatch(line -> line.matches("create  mapping\\s+3\\s+1\\.000\\s.*")), report);
+        Assertions.assertTrue(report.lines().anyMatch(line -> line.matches("create  journaled\\s+1\\s.*")), report);
+        Assertions.assertTrue(report.lines().anyMatch(line -> line.matches("fetch  cache hit\\s+1\\s.*")), report);
+        Assertions.assertTrue(report.lines().anyMatch(line -> line.matches("fetch  cache miss\\s+1\\s.*")), report);
+        Assertions.assertTrue(report.lines().anyMatch(line -> line.matches("fetch  NOT_FOUND\\s+1\\s.*")), report);
+        Assertions.assertTrue(report.contains("cancel  NOT_PENDING"), report);
+        Assertions.assertTrue(report.lines().anyMatch(line -> line.matches("processing  sweep\\s+3\\s.*\\s240")), report);
+    }
+
+    @Test
+    void reportsRecordingsWithoutOrderEvents() throws Exception {
+        Path file = tempDir.resolve("empty.jfr");
+        try (Recording recording = new Recording()) {
+            recording.start();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Assertions.assertEquals("No order events in recording\n", OrderRecordingAnalyzer.summarize(file));
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.orderservice.jobs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.orderservice.configuration.OrderPipelineProperties;
+import org.example.orderservice.events.OrdersCreatedEvent;
+import org.example.orderservice.configuration.WorkerThreads;
+import org.example.orderservice.metrics.OrderMetrics;
+import org.example.orderservice.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class OrderProcessingPipelineTest {
+
+    private OrderProcessingPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    @Test
+    void transitionsQueuedOrdersInBatches() throws InterruptedException {
+        OrderService orderService = mock(OrderService.class);
+        CountDownLatch processed = new CountDownLatch(1);
+        when(orderService.transitionPendingOrders(anyList())).thenAnswer(invocation -> {
+            processed.countDown();
+            return ((List<?>) invocation.getArgument(0)).size();
+        });
+        pipeline = new OrderProcessingPipeline(orderService, new OrderPipelineProperties(true, 100, 1, 10),
+                new OrderMetrics(new SimpleMeterRegistry()), new WorkerThreads(false));
+
+        pipeline.onOrdersCreated(new OrdersCreatedEvent(List.of(1L, 2L, 3L)));
+        pipeline.start();
+
+        Assertions.assertTrue(processed.await(5, TimeUnit.SECONDS));
+        verify(orderService).transitionPendingOrders(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void leavesOrdersForTheSweeperWhenQueueIsFull() {
+        OrderService orderService = mock(OrderService.class);
+        pipeline = new OrderProcessingPipeline(orderService, new OrderPipelineProperties(true, 2, 1, 10),
+                new OrderMetrics(new SimpleMeterRegistry()), new WorkerThreads(false));
+
+        pipeline.onOrdersCreated(new OrdersCreatedEvent(List.of(1L, 2L, 3L)));
+
+        Assertions.assertEquals(2, pipeline.queuedCount());
+        Assertions.assertEquals(1, pipeline.droppedCount());
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void ignoresEventsWhenDisabled() {
+        OrderService orderService = mock(OrderService.class);
+        pipeline = new OrderProcessingPipeline(orderService, new OrderPipelineProperties(false, 10, 1, 10),
+                new OrderMetrics(new SimpleMeterRegistry()), new WorkerThreads(false));
+        pipeline.start();
+
+        pipeline.onOrdersCreated(new OrdersCreatedEvent(List.of(1L)));
+
+        Assertions.assertEquals(0, pipeline.queuedCount());
+        Assertions.assertFalse(pipeline.isRunning());
+    }
+}
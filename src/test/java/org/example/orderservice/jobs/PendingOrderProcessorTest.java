@@ -0,0 +1,70 @@
+package org.example.orderservice.jobs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.orderservice.configuration.OrderProcessingProperties;
+import org.example.orderservice.configuration.WorkerThreads;
+import org.example.orderservice.metrics.OrderMetrics;
+import org.example.orderservice.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class PendingOrderProcessorTest {
+
+    private PendingOrderProcessor processor;
+
+    @AfterEach
+    void tearDown() {
+        processor.destroy();
+    }
+
+    @Test
+    void drainsBacklogAcrossWorkersAndGrowsFastChunks() {
+        OrderService orderService = mock(OrderService.class);
+        AtomicInteger backlog = new AtomicInteger(1_000);
+        when(orderService.processPendingChunk(anyInt())).thenAnswer(invocation -> {
+            int requested = invocation.getArgument(0);
+            int claimed = Math.max(0, Math.min(requested, backlog.getAndAdd(-requested)));
+            return Collections.nCopies(claimed, 1L);
+        });
+        processor = new PendingOrderProcessor(orderService,
+                new OrderProcessingProperties(2, 10, 5, 200, Duration.ofSeconds(10)),
+                new OrderMetrics(new SimpleMeterRegistry()), new WorkerThreads(false));
+
+        int processed = processor.processBacklog();
+
+        Assertions.assertEquals(1_000, processed);
+        Assertions.assertTrue(processor.currentChunkSize() > 10);
+        Assertions.assertTrue(processor.currentChunkSize() <= 200);
+    }
+
+    @Test
+    void shrinksChunksThatExceedTargetLatency() {
+        OrderService orderService = mock(OrderService.class);
+        AtomicInteger calls = new AtomicInteger();
+        when(orderService.processPendingChunk(anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(5);
+            int requested = invocation.getArgument(0);
+            return calls.incrementAndGet() < 4 ? Collections.nCopies(requested, 1L) : List.of();
+        });
+        processor = new PendingOrderProcessor(orderService,
+                new OrderProcessingProperties(1, 80, 10, 200, Duration.ofMillis(1)),
+                new OrderMetrics(new SimpleMeterRegistry()), new WorkerThreads(false));
+
+        processor.processBacklog();
+
+        Assertions.assertEquals(10, processor.currentChunkSize());
+        verify(orderService).processPendingChunk(80);
+        verify(orderService).processPendingChunk(40);
+        verify(orderService).processPendingChunk(20);
+        verify(orderService).processPendingChunk(10);
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.orderservice.journal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+public class OrderJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void returnsEntriesAfterCheckpointWhenReopened() throws Exception {
+        try (OrderJournal journal = open(1024)) {
+            journal.append(bytes("first"));
+            journal.append(bytes("second"));
+            long third = journal.append(bytes("third"));
+            journal.awaitDurable(third);
+            journal.checkpoint(1);
+        }
+
+        try (OrderJournal journal = open(1024)) {
+            List<OrderJournal.Entry> entries = journal.unpersisted();
+            Assertions.assertEquals(List.of(2L, 3L), entries.stream().map(OrderJournal.Entry::sequence).toList());
+            Assertions.assertEquals("second", text(entries.get(0)));
+            Assertions.assertEquals("third", text(entries.get(1)));
+            Assertions.assertEquals(4, journal.append(bytes("fourth")));
+        }
+    }
+
+    @Test
+    void deletesSegmentsBeforeCheckpoint() throws Exception {
+        // Each 30-byte entry fills a 64-byte segment on its own
+        try (OrderJournal journal = open(64)) {
+            journal.append(new byte[30]);
+            journal.append(new byte[30]);
+            long last = journal.append(new byte[30]);
+            journal.awaitDurable(last);
+            Assertions.assertEquals(3, segmentCount());
+
+            journal.checkpoint(2);
+            Assertions.assertEquals(1, segmentCount());
+        }
+
+        try (OrderJournal journal = open(64)) {
+            Assertions.assertEquals(List.of(3L), journal.unpersisted().stream().map(OrderJournal.Entry::sequence).toList());
+        }
+    }
+
+    @Test
+    void dropsTornEntryAtTail() throws Exception {
+        try (OrderJournal journal = open(1024)) {
+            journal.append(bytes("kept"));
+            journal.awaitDurable(journal.append(bytes("torn")));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(path -> path.toString().endsWith(".journal")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // Last byte of the second entry's payload
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), 2L * OrderJournal.HEADER_SIZE + 4 + 3);
+        }
+
+        try (OrderJournal journal = open(1024)) {
+            List<OrderJournal.Entry> entries = journal.unpersisted();
+            Assertions.assertEquals(1, entries.size());
+            Assertions.assertEquals("kept", text(entries.getFirst()));
+            Assertions.assertEquals(2, journal.append(bytes("again")));
+        }
+    }
+
+    private OrderJournal open(int segmentSize) throws IOException {
+        return OrderJournal.open(directory, segmentSize, Executors.defaultThreadFactory(), nanos -> { });
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".journal")).count();
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(OrderJournal.Entry entry) {
+        return new String(entry.payload(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.orderservice.money;
+
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Combinators;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.constraints.Size;
+import org.example.orderservice.entities.Order;
+import org.example.orderservice.entities.OrderItem;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link MoneySum} must reproduce the plain {@link BigDecimal} computation exactly, scale
+ * included, for ordinary DECIMAL(10,2) prices as well as prices and quantities that overflow a
+ * {@code long}.
+ */
+public class MoneySumPropertiesTest {
+
+    record Line(BigDecimal price, int quantity) {
+    }
+
+    @Property(tries = 2000)
+    void matchesBigDecimalForColumnPrices(@ForAll("columnLines") @Size(max = 50) List<Line> lines) {
+        assertIdentical(reference(lines), sum(lines));
+    }
+
+    @Property(tries = 2000)
+    void matchesBigDecimalForAnyPrice(@ForAll("anyLines") @Size(max = 20) List<Line> lines) {
+        assertIdentical(reference(lines), sum(lines));
+    }
+
+    @Property(tries = 500)
+    void continuesFromAStoredTotal(@ForAll("anyPrices") BigDecimal stored,
+                                   @ForAll("anyLines") @Size(max = 10) List<Line> lines) {
+        BigDecimal expected = BigDecimal.ZERO.add(stored);
+        for (Line line : lines) {
+            expected = expected.add(line.price().multiply(BigDecimal.valueOf(line.quantity())));
+        }
+
+        MoneySum sum = MoneySum.of(stored);
+        lines.forEach(line -> sum.addLine(line.price(), line.quantity()));
+
+        assertIdentical(expected, sum.toBigDecimal());
+    }
+
+    @Property(tries = 500)
+    void orderTotalMatchesBigDecimal(@ForAll("columnLines") @Size(max = 30) List<Line> lines) {
+        Order order = new Order("123");
+        int productId = 0;
+        for (Line line : lines) {
+            // Reuse product ids now and then so merged lines are covered too
+            productId = line.quantity() % 3 == 0 ? productId : productId + 1;
+            order.addItem(new OrderItem(productId, "Product", line.quantity(), line.price()));
+        }
+
+        // What the total used to be: recomputed from the merged lines on every read
+        BigDecimal expected = order.getItems().stream()
+                .map(item -> item.getProductPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertIdentical(expected, order.getTotalAmount());
+    }
+
+    @Provide
+    Arbitrary<List<Line>> columnLines() {
+        Arbitrary<BigDecimal> prices = Arbitraries.longs().between(1, 99_999_999_99L)
+                .map(unscaled -> BigDecimal.valueOf(unscaled, 2));
+        return Combinators.combine(prices, Arbitraries.integers().between(1, 100_000))
+                .as(Line::new).list();
+    }
+
+    @Provide
+    Arbitrary<List<Line>> anyLines() {
+        return Combinators.combine(anyPrices(), Arbitraries.integers())
+                .as(Line::new).list();
+    }
+
+    @Provide
+    Arbitrary<BigDecimal> anyPrices() {
+        Arbitrary<BigInteger> unscaled = Arbitraries.oneOf(
+                Arbitraries.longs().map(BigInteger::valueOf),
+                Arbitraries.bigIntegers().between(BigInteger.TEN.pow(30).negate(), BigInteger.TEN.pow(30)));
+        return Combinators.combine(unscaled, Arbitraries.integers().between(-3, 20))
+                .as(BigDecimal::new);
+    }
+
+    private static BigDecimal reference(List<Line> lines) {
+        return lines.stream()
+                .map(line -> line.price().multiply(BigDecimal.valueOf(line.quantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private static BigDecimal sum(List<Line> lines) {
+        MoneySum sum = new MoneySum();
+        lines.forEach(line -> sum.addLine(line.price(), line.quantity()));
+        return sum.toBigDecimal();
+    }
+
+    private static void assertIdentical(BigDecimal expected, BigDecimal actual) {
+        assertEquals(expected, actual);
+        assertEquals(expected.scale(), actual.scale());
+    }
+}
@@ -0,0 +1,111 @@
+package org.example.orderservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.orderservice.configuration.OrderGroupCommitProperties;
+import org.example.orderservice.configuration.WorkerThreads;
+import org.example.orderservice.entities.Order;
+import org.example.orderservice.exception.DuplicateIdempotencyKeyException;
+import org.example.orderservice.metrics.OrderMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class OrderGroupCommitterTest {
+
+    private OrderGroupCommitter committer;
+
+    @AfterEach
+    void tearDown() {
+        committer.stop();
+    }
+
+    @Test
+    void createsConcurrentOrdersInOneGroup() throws Exception {
+        OrderService orderService = mock(OrderService.class);
+        when(orderService.createOrderGroup(anyList(), anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        committer = new OrderGroupCommitter(orderService,
+                new OrderGroupCommitProperties(true, 3, Duration.ofSeconds(5), 10, 1),
+                new OrderMetrics(new SimpleMeterRegistry()), new WorkerThreads(false));
+        committer.start();
+
+        List<Order> orders = List.of(new Order(), new Order(), new Order());
+        List<CompletableFuture<Order>> results = new ArrayList<>();
+        for (Order order : orders) {
+            results.add(CompletableFuture.supplyAsync(() -> committer.createOrder(order, null)));
+        }
+
+        for (int i = 0; i < orders.size(); i++) {
+            Assertions.assertSame(orders.get(i), results.get(i).get(5, TimeUnit.SECONDS));
+        }
+        verify(orderService).createOrderGroup(anyList(), anyList());
+        verify(orderService, never()).createOrder(any(), any());
+    }
+
+    @Test
+    void failsOnlyTheCallerWhoseIdempotencyKeyWasTaken() throws Exception {
+        Order fresh = new Order();
+        Order replayed = new Order();
+        OrderService orderService = mock(OrderService.class);
+        when(orderService.createOrderGroup(anyList(), anyList())).thenReturn(List.of(fresh));
+        committer = new OrderGroupCommitter(orderService,
+                new OrderGroupCommitProperties(true, 2, Duration.ofSeconds(5), 10, 1),
+                new OrderMetrics(new SimpleMeterRegistry()), new WorkerThreads(false));
+        committer.start();
+
+        CompletableFuture<Order> freshResult = CompletableFuture.supplyAsync(() -> committer.createOrder(fresh, "a"));
+        CompletableFuture<Order> replayedResult = CompletableFuture.supplyAsync(() -> committer.createOrder(replayed, "b"));
+
+        Assertions.assertSame(fresh, freshResult.get(5, TimeUnit.SECONDS));
+        Exception ex = Assertions.assertThrows(Exception.class, () -> replayedResult.get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(DuplicateIdempotencyKeyException.class, ex.getCause());
+    }
+
+    @Test
+    void retriesEachOrderAloneWhenTheGroupFails() throws Exception {
+        Order good = new Order();
+        Order bad = new Order();
+        OrderService orderService = mock(OrderService.class);
+        when(orderService.createOrderGroup(anyList(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+        when(orderService.createOrder(good, "a")).thenReturn(good);
+        when(orderService.createOrder(bad, "b")).thenThrow(new DataIntegrityViolationException("value too long"));
+        committer = new OrderGroupCommitter(orderService,
+                new OrderGroupCommitProperties(true, 2, Duration.ofSeconds(5), 10, 1),
+                new OrderMetrics(new SimpleMeterRegistry()), new WorkerThreads(false));
+        committer.start();
+
+        CompletableFuture<Order> goodResult = CompletableFuture.supplyAsync(() -> committer.createOrder(good, "a"));
+        CompletableFuture<Order> badResult = CompletableFuture.supplyAsync(() -> committer.createOrder(bad, "b"));
+
+        Assertions.assertSame(good, goodResult.get(5, TimeUnit.SECONDS));
+        Exception ex = Assertions.assertThrows(Exception.class, () -> badResult.get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(DataIntegrityViolationException.class, ex.getCause());
+        verify(orderService).createOrder(good, "a");
+        verify(orderService).createOrder(bad, "b");
+    }
+
+    @Test
+    void createsDirectlyWhenDisabled() {
+        Order order = new Order();
+        OrderService orderService = mock(OrderService.class);
+        when(orderService.createOrder(order, "key")).thenReturn(order);
+        committer = new OrderGroupCommitter(orderService,
+                new OrderGroupCommitProperties(false, 50, Duration.ofMillis(2), 10, 1),
+                new OrderMetrics(new SimpleMeterRegistry()), new WorkerThreads(false));
+        committer.start();
+
+        Assertions.assertSame(order, committer.createOrder(order, "key"));
+        Assertions.assertFalse(committer.isRunning());
+        verify(orderService, never()).createOrderGroup(anyList(), anyList());
+    }
+}
@@ -0,0 +1,189 @@
+package org.example.orderservice.service;
+
+import org.example.orderservice.configuration.OrderIdempotencyProperties;
+import org.example.orderservice.dto.response.CreateOrderResponse;
+import org.example.orderservice.exception.DuplicateIdempotencyKeyException;
+import org.example.orderservice.exception.InvalidRequestParameterException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.*;
+
+public class OrderIdempotencyServiceTest {
+
+    private OrderService orderService;
+    private OrderIdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setup() {
+        orderService = mock(OrderService.class);
+        when(orderService.findOrderIdByIdempotencyKey(anyString(), anyString(), any())).thenReturn(Optional.empty());
+        idempotencyService = new OrderIdempotencyService(orderService,
+                new OrderIdempotencyProperties(100, Duration.ofHours(1)));
+    }
+
+    @Test
+    void repeatedKeyReturnsOriginalResponseWithoutCreatingAgain() {
+        AtomicInteger creates = new AtomicInteger();
+
+        CreateOrderResponse first = idempotencyService.createOnce("123", "key-1",
+                () -> new CreateOrderResponse((long) creates.incrementAndGet()));
+        CreateOrderResponse second = idempotencyService.createOnce("123", "key-1",
+                () -> new CreateOrderResponse((long) creates.incrementAndGet()));
+
+        Assertions.assertEquals(1L, first.orderId());
+        Assertions.assertEquals(1L, second.orderId());
+        Assertions.assertEquals(1, creates.get());
+        verify(orderService, times(1)).findOrderIdByIdempotencyKey(anyString(), anyString(), any());
+    }
+
+    @Test
+    void sameKeyOfAnotherCustomerCreatesItsOwnOrder() {
+        idempotencyService.createOnce("123", "key-1", () -> new CreateOrderResponse(1L));
+
+        CreateOrderResponse other = idempotencyService.createOnce("456", "key-1", () -> new CreateOrderResponse(2L));
+
+        Assertions.assertEquals(2L, other.orderId());
+    }
+
+    @Test
+    void concurrentRequestsWithSameKeyAreCoalesced() throws Exception {
+        AtomicInteger creates = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int requests = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            List<Future<CreateOrderResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                futures.add(executor.submit(() -> idempotencyService.createOnce("123", "key-1", () -> {
+                    creates.incrementAndGet();
+                    await(release);
+                    return new CreateOrderResponse(42L);
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<CreateOrderResponse> future : futures) {
+                Assertions.assertEquals(42L, future.get(5, TimeUnit.SECONDS).orderId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(1, creates.get());
+    }
+
+    @Test
+    void keyStoredInDatabaseIsReplayedWithoutCreating() {
+        when(orderService.findOrderIdByIdempotencyKey(eq("123"), eq("key-1"), any())).thenReturn(Optional.of(7L));
+
+        CreateOrderResponse response = idempotencyService.createOnce("123", "key-1", () -> {
+            throw new AssertionError("Order must not be created again");
+        });
+
+        Assertions.assertEquals(7L, response.orderId());
+    }
+
+    @Test
+    void keyCommittedConcurrentlyElsewhereReturnsThatOrder() {
+        when(orderService.findOrderIdByIdempotencyKey(eq("123"), eq("key-1"), any()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(9L));
+
+        CreateOrderResponse response = idempotencyService.createOnce("123", "key-1", () -> {
+            throw new DuplicateIdempotencyKeyException("Idempotency key already used: key-1");
+        });
+
+        Assertions.assertEquals(9L, response.orderId());
+    }
+
+    @Test
+    void failedCreateIsNotRemembered() {
+        Assertions.assertThrows(IllegalStateException.class, () -> idempotencyService.createOnce("123", "key-1", () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        CreateOrderResponse retried = idempotencyService.createOnce("123", "key-1", () -> new CreateOrderResponse(3L));
+
+        Assertions.assertEquals(3L, retried.orderId());
+    }
+
+    @Test
+    void rejectedCreateIsNotLoggedAndWaitersRunTheirOwn() throws Exception {
+        List<LogRecord> logged = new ArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                logged.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Logger caffeineLogger = Logger.getLogger("com.github.benmanes.caffeine.cache.LocalAsyncCache");
+        caffeineLogger.addHandler(handler);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<CreateOrderResponse> rejected = executor.submit(() -> idempotencyService.createOnce("123", "key-1", () -> {
+                await(release);
+                throw new InvalidRequestParameterException("items", "Order must contain at least one item");
+            }));
+            Thread.sleep(100);
+
+            Future<CreateOrderResponse> waiter = CompletableFuture.supplyAsync(() ->
+                    idempotencyService.createOnce("123", "key-1", () -> new CreateOrderResponse(4L)));
+            Thread.sleep(100);
+            release.countDown();
+
+            ExecutionException failure = Assertions.assertThrows(ExecutionException.class,
+                    () -> rejected.get(5, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(InvalidRequestParameterException.class, failure.getCause());
+            Assertions.assertEquals(4L, waiter.get(5, TimeUnit.SECONDS).orderId());
+        } finally {
+            executor.shutdownNow();
+            caffeineLogger.removeHandler(handler);
+        }
+        Assertions.assertEquals(List.of(), logged);
+    }
+
+    @Test
+    void rejectsBlankOrOversizedKeys() {
+        Assertions.assertThrows(InvalidRequestParameterException.class,
+                () -> idempotencyService.createOnce("123", " ", () -> new CreateOrderResponse(1L)));
+        Assertions.assertThrows(InvalidRequestParameterException.class,
+                () -> idempotencyService.createOnce("123", "k".repeat(OrderIdempotencyService.MAX_KEY_LENGTH + 1),
+                        () -> new CreateOrderResponse(1L)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.orderservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import org.example.orderservice.configuration.OrderJournalProperties;
+import org.example.orderservice.configuration.WorkerThreads;
+import org.example.orderservice.controllers.OrderController;
+import org.example.orderservice.dto.request.CreateOrderRequest;
+import org.example.orderservice.dto.request.OrderItemRequest;
+import org.example.orderservice.entities.Order;
+import org.example.orderservice.journal.OrderJournal;
+import org.example.orderservice.mapper.OrderMapper;
+import org.example.orderservice.metrics.OrderMetrics;
+import org.example.orderservice.stats.OrderStatusCounters;
+import org.example.orderservice.stream.OrderEventHub;
+import org.example.orderservice.support.Await;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class OrderIntakeServiceTest {
+
+    private static final CreateOrderRequest REQUEST = new CreateOrderRequest(List.of(
+            new OrderItemRequest("Laptop", 1, 2, new BigDecimal("5000.00"))));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void persistsAcceptedOrdersInTheBackground() {
+        OrderService orderService = mock(OrderService.class);
+        when(orderService.createOrderGroup(anyList(), anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        OrderIntakeService intake = intakeService(orderService, true);
+        intake.start();
+        try {
+            UUID intakeId = intake.accept("123", REQUEST).orElseThrow();
+
+            verify(orderService, timeout(5000)).createOrderGroup(anyList(), eq(List.of("intake:" + intakeId)));
+            verify(orderService, never()).createOrder(any(), any());
+        } finally {
+            intake.stop();
+        }
+    }
+
+    @Test
+    void replaysOrdersNotPersistedBeforeRestart() throws Exception {
+        OrderService unavailable = mock(OrderService.class);
+        when(unavailable.createOrderGroup(anyList(), anyList())).thenThrow(new CannotCreateTransactionException("Database down"));
+        OrderIntakeService beforeRestart = intakeService(unavailable, true);
+        beforeRestart.start();
+        UUID intakeId = beforeRestart.accept("123", REQUEST).orElseThrow();
+        Assertions.assertTrue(beforeRestart.isPending("123", intakeId));
+        Assertions.assertFalse(beforeRestart.isPending("456", intakeId));
+        beforeRestart.stop();
+
+        OrderService orderService = mock(OrderService.class);
+        when(orderService.createOrderGroup(anyList(), anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        OrderIntakeService afterRestart = intakeService(orderService, true);
+        afterRestart.start();
+        try {
+            verify(orderService, timeout(5000)).createOrderGroup(anyList(), eq(List.of("intake:" + intakeId)));
+        } finally {
+            afterRestart.stop();
+        }
+
+        try (OrderJournal journal = OrderJournal.open(directory, 1024 * 1024, Executors.defaultThreadFactory(), nanos -> { })) {
+            Assertions.assertTrue(journal.unpersisted().isEmpty());
+        }
+    }
+
+    @Test
+    void parksAnOrderTheDatabaseKeepsRejecting() throws Exception {
+        OrderService orderService = mock(OrderService.class);
+        when(orderService.createOrderGroup(anyList(), anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            if (orders.stream().anyMatch(order -> order.getCustomerId().equals("rejected"))) {
+                throw new DataIntegrityViolationException("value too long for type character varying(255)");
+            }
+            return orders;
+        });
+        OrderIntakeService intake = intakeService(orderService, true);
+        intake.start();
+        UUID rejected;
+        UUID accepted;
+        try {
+            rejected = intake.accept("rejected", REQUEST).orElseThrow();
+            accepted = intake.accept("123", REQUEST).orElseThrow();
+
+            verify(orderService, timeout(5000)).createOrderGroup(anyList(), eq(List.of("intake:" + accepted)));
+            verify(orderService, timeout(5000).times(2)).createOrderGroup(anyList(), eq(List.of("intake:" + rejected)));
+            Assertions.assertFalse(Await.until(() -> intake.isPending("123", accepted), pending -> !pending));
+            Assertions.assertFalse(intake.isPending("rejected", rejected));
+        } finally {
+            intake.stop();
+        }
+
+        String parked = Files.readString(directory.resolve(OrderIntakeService.PARKED_FILE));
+        Assertions.assertTrue(parked.contains(rejected.toString()));
+        Assertions.assertFalse(parked.contains(accepted.toString()));
+        try (OrderJournal journal = OrderJournal.open(directory, 1024 * 1024, Executors.defaultThreadFactory(), nanos -> { })) {
+            Assertions.assertTrue(journal.unpersisted().isEmpty());
+        }
+
+        // The rejection outlives a restart, and is what the intake status endpoint reports
+        OrderIntakeService afterRestart = intakeService(orderService, true);
+        afterRestart.start();
+        try {
+            MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller(afterRestart)).build();
+            mockMvc.perform(get("/api/orders/intake/" + rejected).header("X-Customer-Id", "rejected"))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(jsonPath("$.message").value("Order rejected, not persisted"))
+                    .andExpect(jsonPath("$.data.intakeId").value(rejected.toString()))
+                    .andExpect(jsonPath("$.data.reason").value("value too long for type character varying(255)"));
+            Assertions.assertTrue(afterRestart.findParked("123", rejected).isEmpty());
+        } finally {
+            afterRestart.stop();
+        }
+    }
+
+    @Test
+    void acceptsNothingWhenDisabled() {
+        OrderService orderService = mock(OrderService.class);
+        OrderIntakeService intake = intakeService(orderService, false);
+        intake.start();
+
+        Assertions.assertTrue(intake.accept("123", REQUEST).isEmpty());
+        Assertions.assertFalse(intake.isRunning());
+        verifyNoInteractions(orderService);
+    }
+
+    private static OrderController controller(OrderIntakeService intake) {
+        return new OrderController(mock(OrderService.class), mock(OrderIdempotencyService.class),
+                mock(OrderGroupCommitter.class), intake, new OrderMapper(), mock(Validator.class),
+                mock(OrderStatusCounters.class), mock(OrderEventHub.class), new ObjectMapper().findAndRegisterModules());
+    }
+
+    private OrderIntakeService intakeService(OrderService orderService, boolean enabled) {
+        OrderJournalProperties properties = new OrderJournalProperties(enabled, directory, DataSize.ofMegabytes(1),
+                100, 10, Duration.ofMillis(50), 2);
+        return new OrderIntakeService(orderService, new OrderMapper(), new ObjectMapper().findAndRegisterModules(),
+                properties, new OrderMetrics(new SimpleMeterRegistry()), new WorkerThreads(false));
+    }
+}
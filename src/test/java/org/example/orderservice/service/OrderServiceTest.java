@@ -1,31 +1,70 @@
 package org.example.orderservice.service;
 
+import jakarta.persistence.EntityManager;
+import org.example.orderservice.cache.OrderResponseCache;
+import org.example.orderservice.configuration.OrderCacheProperties;
+import org.example.orderservice.configuration.OrderIdempotencyProperties;
+import org.example.orderservice.dto.response.OrderChangeResponse;
+import org.example.orderservice.dto.response.OrderChangesResponse;
+import org.example.orderservice.dto.response.OrderResponse;
+import org.example.orderservice.dto.response.OrderSummaryResponse;
 import org.example.orderservice.entities.Order;
 import org.example.orderservice.entities.OrderItem;
 import org.example.orderservice.entities.OrderStatus;
+import org.example.orderservice.events.OrderStatusChangedEvent;
+import org.example.orderservice.events.OrdersCreatedEvent;
+import org.example.orderservice.exception.InvalidRequestParameterException;
 import org.example.orderservice.exception.OrderCancellationException;
 import org.example.orderservice.exception.ResourceNotFoundException;
 import org.example.orderservice.exception.UnAuthorizedException;
+import org.example.orderservice.jfr.OrderFetchEvent;
+import org.example.orderservice.mapper.OrderMapper;
+import org.example.orderservice.metrics.OrderMetrics;
+import org.example.orderservice.pagination.CursorPage;
+import org.example.orderservice.pagination.OrderCursor;
 import org.example.orderservice.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class OrderServiceTest {
     private OrderRepository orderRepository;
+    private EntityManager entityManager;
+    private OrderResponseCache orderResponseCache;
+    private ApplicationEventPublisher eventPublisher;
+    private SimpleMeterRegistry meterRegistry;
     private OrderService orderService;
 
 
     @BeforeEach
     void setup() {
         orderRepository = mock(OrderRepository.class);
-        this.orderService = new OrderService(orderRepository);
+        entityManager = mock(EntityManager.class);
+        orderResponseCache = new OrderResponseCache(new OrderCacheProperties(100, Duration.ofMinutes(1)));
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        meterRegistry = new SimpleMeterRegistry();
+        this.orderService = new OrderService(orderRepository, entityManager, new OrderMapper(), orderResponseCache,
+                eventPublisher, new OrderMetrics(meterRegistry), new OrderIdempotencyProperties(100, Duration.ofHours(24)));
     }
 
     @Test
@@ -60,6 +99,22 @@ public class OrderServiceTest {
                         o.getItems().get(0).getProductName().equals("Laptop") &&
                         o.getItems().get(0).getQuantity() == 2
         ));
+        verify(eventPublisher).publishEvent(new OrdersCreatedEvent(List.of(1L)));
+    }
+
+    @Test
+    void createOrdersSavesWholeBatchAtOnce() {
+        Order first = new Order("123");
+        Order second = new Order("123");
+        when(orderRepository.saveAll(List.of(first, second))).thenReturn(List.of(first, second));
+
+        List<Order> createdOrders = orderService.createOrders(List.of(first, second));
+
+        Assertions.assertEquals(List.of(first, second), createdOrders);
+        verify(orderRepository, times(1)).saveAll(List.of(first, second));
+        verify(orderRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(any(OrdersCreatedEvent.class));
+        Assertions.assertEquals(2, meterRegistry.get("orders.created.items").summary().count());
     }
 
     @Test
@@ -77,7 +132,7 @@ public class OrderServiceTest {
         item.setProductPrice(new BigDecimal("5000.00"));
         order.setItems(List.of(item));
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
 
         Order fetchedOrder = orderService.getOrderById(orderId);
 
@@ -88,15 +143,68 @@ public class OrderServiceTest {
         Assertions.assertEquals("Laptop", fetchedOrder.getItems().get(0).getProductName());
         Assertions.assertEquals(new BigDecimal("10000.00"), fetchedOrder.calculateTotalAmount());
 
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).findWithItemsById(orderId);
 
     }
 
 
+    @Test
+    void getOrderResponseIsServedFromCacheAfterFirstLoad() {
+        Order order = new Order();
+        order.setId(1L);
+        order.setCustomerId("123");
+        order.addItem(new OrderItem(10, "Laptop", 2, new BigDecimal("5000.00")));
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(order));
+
+        OrderResponse first = orderService.getOrderResponse(1L);
+        OrderResponse second = orderService.getOrderResponse(1L);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(new BigDecimal("10000.00"), second.totalAmount());
+        Assertions.assertEquals(1, orderResponseCache.stats().hitCount());
+        Assertions.assertEquals(1, orderResponseCache.stats().missCount());
+        verify(orderRepository, times(1)).findWithItemsById(1L);
+    }
+
+    @Test
+    void getOrderResponseDoesNotCacheMissingOrders() {
+        when(orderRepository.findWithItemsById(99L)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderResponse(99L));
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderResponse(99L));
+
+        verify(orderRepository, times(2)).findWithItemsById(99L);
+    }
+
+    @Test
+    void getOrderResponseRecordsFetchOutcome(@TempDir Path tempDir) throws Exception {
+        Order order = new Order();
+        order.setId(1L);
+        order.setCustomerId("123");
+        order.addItem(new OrderItem(10, "Laptop", 2, new BigDecimal("5000.00")));
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(99L)).thenReturn(Optional.empty());
+
+        Path file = tempDir.resolve("fetch.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(OrderFetchEvent.class);
+            recording.start();
+            orderService.getOrderResponse(1L);
+            Assertions.assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderResponse(99L));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<String> outcomes = RecordingFile.readAllEvents(file).stream()
+                .map(event -> event.getLong("orderId") + ":" + event.getString("outcome"))
+                .toList();
+        Assertions.assertEquals(List.of("1:" + OrderFetchEvent.FOUND, "99:" + OrderFetchEvent.NOT_FOUND), outcomes);
+    }
+
     @Test
     void throwResourceNotFoundExceptionWhenOrderNotFound() {
         Long orderId = 99L;
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = Assertions.assertThrows(
                 ResourceNotFoundException.class,
@@ -104,7 +212,7 @@ public class OrderServiceTest {
         );
 
         Assertions.assertEquals("Order with ID 99 not found", exception.getMessage());
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).findWithItemsById(orderId);
     }
 
     @Test
@@ -121,9 +229,10 @@ public class OrderServiceTest {
         item.setProductPrice(new BigDecimal("5000.00"));
         order.setItems(List.of(item));
 
-        when(orderRepository.findAll()).thenReturn(List.of(order));
+        when(orderRepository.findFirstPage(Limit.of(51))).thenReturn(List.of(order));
 
-        List<Order> orders = orderService.getAllOrders(null);
+        CursorPage<Order> page = orderService.getAllOrders(null, null, null);
+        List<Order> orders = page.content();
 
         // then
         Assertions.assertEquals(1, orders.size());
@@ -133,7 +242,9 @@ public class OrderServiceTest {
         Assertions.assertEquals(new BigDecimal("10000.00"), orders.get(0).calculateTotalAmount());
         Assertions.assertEquals("Laptop", orders.get(0).getItems().get(0).getProductName());
 
-        verify(orderRepository, times(1)).findAll();
+        Assertions.assertNull(page.nextCursor());
+
+        verify(orderRepository, times(1)).findFirstPage(Limit.of(51));
     }
 
     @Test
@@ -148,28 +259,207 @@ public class OrderServiceTest {
         order2.setCustomerId("456");
         order2.setStatus(OrderStatus.PENDING);
 
-        when(orderRepository.findOrderByStatus(OrderStatus.PROCESSING)).thenReturn(List.of(order1));
+        when(orderRepository.findFirstPageByStatus(OrderStatus.PROCESSING, Limit.of(51))).thenReturn(List.of(order1));
 
-        List<Order> orders = orderService.getAllOrders(OrderStatus.PROCESSING);
+        List<Order> orders = orderService.getAllOrders(OrderStatus.PROCESSING, null, null).content();
 
         Assertions.assertEquals(1, orders.size());
         Assertions.assertEquals(OrderStatus.PROCESSING, orders.get(0).getStatus());
 
-        verify(orderRepository, times(1)).findOrderByStatus(OrderStatus.PROCESSING);
+        verify(orderRepository, times(1)).findFirstPageByStatus(OrderStatus.PROCESSING, Limit.of(51));
     }
+
+    @Test
+    void getAllOrdersReturnsNextCursorWhenMoreOrdersExist() {
+        Instant createdAt = Instant.parse("2025-01-01T10:15:30.123456Z");
+        Order newest = new Order();
+        newest.setId(3L);
+        Order middle = new Order();
+        middle.setId(2L);
+        Order oldest = new Order();
+        oldest.setId(1L);
+        List.of(newest, middle, oldest).forEach(o -> ReflectionTestUtils.setField(o, "createdAt", createdAt));
+
+        when(orderRepository.findFirstPage(Limit.of(3))).thenReturn(List.of(newest, middle, oldest));
+
+        CursorPage<Order> page = orderService.getAllOrders(null, null, 2);
+
+        Assertions.assertEquals(List.of(newest, middle), page.content());
+        Assertions.assertEquals(new OrderCursor(createdAt, 2L), OrderCursor.decode("after", page.nextCursor()));
+    }
+
+    @Test
+    void getAllOrdersContinuesAfterCursor() {
+        Instant createdAt = Instant.parse("2025-01-01T10:15:30Z");
+        String after = new OrderCursor(createdAt, 7L).encode();
+        when(orderRepository.findPageByStatusAfter(OrderStatus.PENDING, createdAt, 7L, Limit.of(11)))
+                .thenReturn(List.of());
+
+        CursorPage<Order> page = orderService.getAllOrders(OrderStatus.PENDING, after, 10);
+
+        Assertions.assertTrue(page.content().isEmpty());
+        Assertions.assertNull(page.nextCursor());
+        verify(orderRepository, times(1)).findPageByStatusAfter(OrderStatus.PENDING, createdAt, 7L, Limit.of(11));
+    }
+
+    @Test
+    void getAllOrdersCapsLimitAtMaximum() {
+        when(orderRepository.findFirstPage(Limit.of(201))).thenReturn(List.of());
+
+        orderService.getAllOrders(null, null, 10_000);
+
+        verify(orderRepository, times(1)).findFirstPage(Limit.of(201));
+    }
+
+    @Test
+    void getAllOrdersRejectsInvalidCursorAndLimit() {
+        InvalidRequestParameterException cursorException = Assertions.assertThrows(
+                InvalidRequestParameterException.class,
+                () -> orderService.getAllOrders(null, "not-a-cursor", null)
+        );
+        Assertions.assertEquals("after", cursorException.getParameter());
+
+        InvalidRequestParameterException limitException = Assertions.assertThrows(
+                InvalidRequestParameterException.class,
+                () -> orderService.getAllOrders(null, null, 0)
+        );
+        Assertions.assertEquals("limit", limitException.getParameter());
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void getOrderChangesReturnsWatermarkOfLastChange() {
+        Instant updatedAt = Instant.parse("2025-01-01T10:15:30.123456Z");
+        List<OrderChangeResponse> changes = LongStream.rangeClosed(1, 3)
+                .mapToObj(id -> new OrderChangeResponse(id, "123", OrderStatus.PENDING, BigDecimal.TEN, updatedAt, updatedAt))
+                .toList();
+        when(orderRepository.findChangesAfter(eq(Instant.EPOCH), eq(0L), any(), eq(Limit.of(3)))).thenReturn(changes);
+
+        OrderChangesResponse response = orderService.getOrderChanges(null, 2);
+
+        Assertions.assertEquals(changes.subList(0, 2), response.changes());
+        Assertions.assertTrue(response.hasMore());
+        Assertions.assertEquals(new OrderCursor(updatedAt, 2L), OrderCursor.decode("since", response.watermark()));
+    }
+
+    @Test
+    void getOrderChangesKeepsWatermarkWhenNothingChangedAndHoldsBackRecentChanges() {
+        Instant since = Instant.parse("2025-01-01T10:15:30Z");
+        when(orderRepository.findChangesAfter(eq(since), eq(0L), any(), eq(Limit.of(51)))).thenReturn(List.of());
+
+        Instant before = Instant.now();
+        OrderChangesResponse response = orderService.getOrderChanges(since.toString(), null);
+
+        Assertions.assertTrue(response.changes().isEmpty());
+        Assertions.assertFalse(response.hasMore());
+        Assertions.assertEquals(new OrderCursor(since, 0L), OrderCursor.decode("since", response.watermark()));
+        verify(orderRepository).findChangesAfter(eq(since), eq(0L),
+                argThat(until -> !until.isAfter(before.minus(OrderService.CHANGE_FEED_SETTLE_TIME).plusSeconds(1))),
+                eq(Limit.of(51)));
+    }
+
+    @Test
+    void getOrderChangesRejectsInvalidWatermark() {
+        InvalidRequestParameterException exception = Assertions.assertThrows(
+                InvalidRequestParameterException.class,
+                () -> orderService.getOrderChanges("not-a-watermark", null)
+        );
+        Assertions.assertEquals("since", exception.getParameter());
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void getCustomerOrdersPagesByCustomer() {
+        Instant createdAt = Instant.parse("2025-01-01T10:15:30Z");
+        String after = new OrderCursor(createdAt, 7L).encode();
+        Order order = new Order("123");
+        order.setId(5L);
+        when(orderRepository.findPageByCustomerAfter("123", createdAt, 7L, Limit.of(11))).thenReturn(List.of(order));
+
+        CursorPage<Order> page = orderService.getCustomerOrders("123", after, 10);
+
+        Assertions.assertEquals(List.of(order), page.content());
+        Assertions.assertNull(page.nextCursor());
+        verify(orderRepository, never()).findPageAfter(any(), any(), any());
+    }
+
+    @Test
+    void getOrderSummariesUsesProjectionAndReturnsNextCursor() {
+        Instant createdAt = Instant.parse("2025-01-01T10:15:30Z");
+        OrderSummaryResponse newest = new OrderSummaryResponse(3L, "123", OrderStatus.PENDING, BigDecimal.TEN, createdAt);
+        OrderSummaryResponse middle = new OrderSummaryResponse(2L, "123", OrderStatus.PENDING, BigDecimal.ONE, createdAt);
+        OrderSummaryResponse oldest = new OrderSummaryResponse(1L, "123", OrderStatus.PENDING, BigDecimal.ONE, createdAt);
+        when(orderRepository.findFirstSummaryPageByStatus(OrderStatus.PENDING, Limit.of(3)))
+                .thenReturn(List.of(newest, middle, oldest));
+
+        CursorPage<OrderSummaryResponse> page = orderService.getOrderSummaries(OrderStatus.PENDING, null, 2);
+
+        Assertions.assertEquals(List.of(newest, middle), page.content());
+        Assertions.assertEquals(new OrderCursor(createdAt, 2L), OrderCursor.decode("after", page.nextCursor()));
+        verify(orderRepository, never()).findFirstPageByStatus(any(), any());
+    }
+
+    @Test
+    void getOrderSummariesContinuesAfterCursor() {
+        Instant createdAt = Instant.parse("2025-01-01T10:15:30Z");
+        String after = new OrderCursor(createdAt, 7L).encode();
+        when(orderRepository.findSummaryPageAfter(createdAt, 7L, Limit.of(51))).thenReturn(List.of());
+
+        CursorPage<OrderSummaryResponse> page = orderService.getOrderSummaries(null, after, null);
+
+        Assertions.assertTrue(page.content().isEmpty());
+        Assertions.assertNull(page.nextCursor());
+    }
+
+    @Test
+    void exportOrdersStreamsEveryOrderAndClearsPersistenceContextPeriodically() {
+        int total = OrderService.EXPORT_CLEAR_INTERVAL * 2 + 1;
+        when(orderRepository.streamByStatus(OrderStatus.PENDING))
+                .thenReturn(LongStream.rangeClosed(1, total).mapToObj(id -> {
+                    Order order = new Order();
+                    order.setId(id);
+                    return order;
+                }));
+
+        List<Long> exportedIds = new ArrayList<>();
+        long exported = orderService.exportOrders(OrderStatus.PENDING, order -> exportedIds.add(order.getId()));
+
+        Assertions.assertEquals(total, exported);
+        Assertions.assertEquals(total, exportedIds.size());
+        verify(entityManager, times(2)).clear();
+        verify(orderRepository, never()).streamAll();
+    }
+
     @Test
     void cancelOrderSuccessfully() {
+        when(orderRepository.cancelIfPending(1L, "123")).thenReturn(1);
+
+        orderService.cancelOrder(1L, "123");
+
+        verify(orderRepository, times(1)).cancelIfPending(1L, "123");
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(
+                new OrderStatusChangedEvent(List.of(1L), OrderStatus.PENDING, OrderStatus.CANCELLED));
+    }
+
+    @Test
+    void cancelOrderEvictsCachedResponse() {
         Order order = new Order();
         order.setId(1L);
         order.setCustomerId("123");
         order.setStatus(OrderStatus.PENDING);
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.cancelIfPending(1L, "123")).thenAnswer(invocation -> {
+            order.setStatus(OrderStatus.CANCELLED);
+            return 1;
+        });
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
-
+        Assertions.assertEquals(OrderStatus.PENDING, orderService.getOrderResponse(1L).status());
         orderService.cancelOrder(1L, "123");
 
-        Assertions.assertEquals(OrderStatus.CANCELLED, order.getStatus());
-        verify(orderRepository, times(1)).save(order);
+        Assertions.assertEquals(OrderStatus.CANCELLED, orderService.getOrderResponse(1L).status());
+        verify(orderRepository, times(2)).findWithItemsById(1L);
     }
 
     @Test
@@ -218,18 +508,76 @@ public class OrderServiceTest {
         );
 
         Assertions.assertEquals("Order cannot be cancelled as it is already PROCESSING", exception.getMessage());
+        verify(orderRepository, times(1)).cancelIfPending(1L, "123");
     }
 
 
     @Test
-    void updateOrderStatusSuccessfully() {
-        when(orderRepository.updateStatus(OrderStatus.PENDING, OrderStatus.PROCESSING)).thenReturn(3);
+    void processPendingChunkClaimsAndTransitionsOrders() {
+        when(orderRepository.claimPendingOrderIds(3)).thenReturn(List.of(4L, 5L, 6L));
+        when(orderRepository.updateStatusByIds(List.of(4L, 5L, 6L), OrderStatus.PENDING, OrderStatus.PROCESSING))
+                .thenReturn(3);
+
+        List<Long> processed = orderService.processPendingChunk(3);
+
+        Assertions.assertEquals(List.of(4L, 5L, 6L), processed);
+        verify(orderRepository, times(1))
+                .updateStatusByIds(List.of(4L, 5L, 6L), OrderStatus.PENDING, OrderStatus.PROCESSING);
+    }
+
+    @Test
+    void processPendingChunkSkipsUpdateWhenNothingClaimed() {
+        when(orderRepository.claimPendingOrderIds(3)).thenReturn(List.of());
 
-        int updatedCount = orderService.updateOrderStatus(OrderStatus.PENDING, OrderStatus.PROCESSING);
+        Assertions.assertTrue(orderService.processPendingChunk(3).isEmpty());
 
-        Assertions.assertEquals(3, updatedCount);
-        verify(orderRepository, times(1)).updateStatus(OrderStatus.PENDING, OrderStatus.PROCESSING);
+        verify(orderRepository, never()).updateStatusByIds(any(), any(), any());
     }
 
+    @Test
+    void processPendingChunkEvictsOnlyTransitionedOrders() {
+        Order pending = new Order();
+        pending.setId(1L);
+        pending.setStatus(OrderStatus.PENDING);
+        Order shipped = new Order();
+        shipped.setId(2L);
+        shipped.setStatus(OrderStatus.SHIPPED);
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(pending));
+        when(orderRepository.findWithItemsById(2L)).thenReturn(Optional.of(shipped));
+        when(orderRepository.claimPendingOrderIds(10)).thenReturn(List.of(1L));
+
+        orderService.getOrderResponse(1L);
+        orderService.getOrderResponse(2L);
+        orderService.processPendingChunk(10);
+        orderService.getOrderResponse(1L);
+        orderService.getOrderResponse(2L);
+
+        verify(orderRepository, times(2)).findWithItemsById(1L);
+        verify(orderRepository, times(1)).findWithItemsById(2L);
+    }
 
+    @Test
+    void transitionPendingOrdersOnlyMovesOrdersStillPending() {
+        when(orderRepository.claimPendingOrderIdsIn(List.of(1L, 2L))).thenReturn(List.of(2L));
+        when(orderRepository.updateStatusByIds(List.of(2L), OrderStatus.PENDING, OrderStatus.PROCESSING))
+                .thenReturn(1);
+
+        int updated = orderService.transitionPendingOrders(List.of(1L, 2L));
+
+        Assertions.assertEquals(1, updated);
+        verify(orderRepository).updateStatusByIds(List.of(2L), OrderStatus.PENDING, OrderStatus.PROCESSING);
+        verify(orderRepository, never()).claimPendingOrderIds(anyInt());
+        verify(eventPublisher).publishEvent(
+                new OrderStatusChangedEvent(List.of(2L), OrderStatus.PENDING, OrderStatus.PROCESSING));
+    }
+
+    @Test
+    void transitionPendingOrdersSkipsUpdateWhenNothingIsStillPending() {
+        when(orderRepository.claimPendingOrderIdsIn(List.of(1L))).thenReturn(List.of());
+
+        Assertions.assertEquals(0, orderService.transitionPendingOrders(List.of(1L)));
+
+        verify(orderRepository, never()).updateStatusByIds(any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
 }
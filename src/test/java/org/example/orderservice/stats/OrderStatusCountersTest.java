@@ -0,0 +1,56 @@
+package org.example.orderservice.stats;
+
+import org.example.orderservice.entities.OrderStatus;
+import org.example.orderservice.events.OrderStatusChangedEvent;
+import org.example.orderservice.events.OrdersCreatedEvent;
+import org.example.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+public class OrderStatusCountersTest {
+
+    private OrderRepository orderRepository;
+    private OrderStatusCounters counters;
+
+    @BeforeEach
+    void setup() {
+        orderRepository = mock(OrderRepository.class);
+        counters = new OrderStatusCounters(orderRepository);
+    }
+
+    @Test
+    void countsFollowCreateAndStatusChangeEvents() {
+        counters.onOrdersCreated(new OrdersCreatedEvent(List.of(1L, 2L, 3L)));
+        counters.onOrderStatusChanged(new OrderStatusChangedEvent(List.of(1L, 2L), OrderStatus.PENDING, OrderStatus.PROCESSING));
+        counters.onOrderStatusChanged(new OrderStatusChangedEvent(List.of(3L), OrderStatus.PENDING, OrderStatus.CANCELLED));
+
+        Map<OrderStatus, Long> snapshot = counters.snapshot();
+
+        Assertions.assertEquals(0L, snapshot.get(OrderStatus.PENDING));
+        Assertions.assertEquals(2L, snapshot.get(OrderStatus.PROCESSING));
+        Assertions.assertEquals(1L, snapshot.get(OrderStatus.CANCELLED));
+        Assertions.assertEquals(0L, snapshot.get(OrderStatus.DELIVERED));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void reconcileResetsCountersToDatabaseCounts() {
+        counters.onOrdersCreated(new OrdersCreatedEvent(List.of(1L, 2L)));
+        when(orderRepository.countGroupByStatus()).thenReturn(List.of(
+                new OrderStatusCount(OrderStatus.PENDING, 5),
+                new OrderStatusCount(OrderStatus.SHIPPED, 7)));
+
+        counters.reconcile();
+
+        Map<OrderStatus, Long> snapshot = counters.snapshot();
+        Assertions.assertEquals(5L, snapshot.get(OrderStatus.PENDING));
+        Assertions.assertEquals(7L, snapshot.get(OrderStatus.SHIPPED));
+        Assertions.assertEquals(0L, snapshot.get(OrderStatus.PROCESSING));
+    }
+}
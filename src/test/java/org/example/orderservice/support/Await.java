@@ -0,0 +1,50 @@
+package org.example.orderservice.support;
+
+import org.example.orderservice.outbox.InMemoryOrderEventPublisher;
+import org.example.orderservice.outbox.OrderEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Polling for tests that wait on background work: the relay, the pipeline, the intake writer
+ * or a stream's sender.
+ */
+public final class Await {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final long INTERVAL_MILLIS = 20;
+
+    private Await() {
+    }
+
+    /**
+     * Polls {@code probe} until {@code done} accepts its value or the timeout passes, and returns
+     * the last value for the caller to assert on.
+     */
+    public static <T> T until(Callable<T> probe, Predicate<? super T> done) throws Exception {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        T value = probe.call();
+        while (!done.test(value) && System.nanoTime() < deadline) {
+            Thread.sleep(INTERVAL_MILLIS);
+            value = probe.call();
+        }
+        return value;
+    }
+
+    /**
+     * Waits for {@code count} events matching {@code filter} to be relayed to {@code publisher}
+     * and returns them, oldest first.
+     */
+    public static List<OrderEvent> published(InMemoryOrderEventPublisher publisher, Predicate<OrderEvent> filter,
+                                             int count) throws Exception {
+        List<OrderEvent> events = until(() -> publisher.recentEvents().stream().filter(filter).toList(),
+                relayed -> relayed.size() >= count);
+        assertEquals(count, events.size());
+        return events;
+    }
+}